@@ -0,0 +1,28 @@
+package com.bookingapi.bookingapi.benchmark;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.bookingapi.bookingapi.BookingapiApplication;
+
+/**
+ * Starts the application without the web layer on its own in-memory H2
+ * database, seeded by data.sql, for the benchmarks that go through Spring.
+ */
+final class BenchmarkApplication {
+
+	private BenchmarkApplication() {
+	}
+
+	static ConfigurableApplicationContext start(String database) {
+		// the forked benchmark JVM must not be restarted by devtools
+		System.setProperty("spring.devtools.restart.enabled", "false");
+		return new SpringApplicationBuilder(BookingapiApplication.class).web(WebApplicationType.NONE)
+				.properties("spring.datasource.url=jdbc:h2:mem:" + database, "spring.jpa.show-sql=false",
+						"booking.archive.cron=-", "booking.idempotency.purge-cron=-",
+						"logging.level.root=WARN")
+				.run();
+	}
+
+}
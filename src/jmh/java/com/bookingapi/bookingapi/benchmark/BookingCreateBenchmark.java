@@ -0,0 +1,63 @@
+package com.bookingapi.bookingapi.benchmark;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.bookingapi.bookingapi.model.dto.requestbody.CreateBookingDTO;
+import com.bookingapi.bookingapi.model.dto.responsebody.BookingResponseDTO;
+import com.bookingapi.bookingapi.service.BookingService;
+
+/**
+ * {@link BookingService#createBooking} through the Spring proxies against H2:
+ * property lock, cached user and property, availability index, insert and
+ * commit. Every call books the next free two nights of property 3.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BookingCreateBenchmark {
+
+	private static final long ID_USER_GUEST = 7L;
+	private static final long ID_PROPERTY_3 = 3L;
+	private static final LocalDate FIRST_DAY = LocalDate.of(2200, 1, 1);
+
+	private ConfigurableApplicationContext context;
+	private BookingService bookingService;
+	private long nextDay;
+
+	@Setup
+	public void setup() {
+		context = BenchmarkApplication.start("create-benchmark");
+		bookingService = context.getBean(BookingService.class);
+	}
+
+	@TearDown
+	public void tearDown() {
+		context.close();
+	}
+
+	@Benchmark
+	public BookingResponseDTO createBooking() {
+		LocalDate startDate = FIRST_DAY.plusDays(nextDay);
+		nextDay += 2;
+		return bookingService.createBooking(CreateBookingDTO.builder().propertyId(ID_PROPERTY_3).startDate(startDate)
+				.endDate(startDate.plusDays(2)).userId(ID_USER_GUEST).build());
+	}
+
+}
@@ -0,0 +1,84 @@
+package com.bookingapi.bookingapi.benchmark;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.bookingapi.bookingapi.enumerator.BookingStatus;
+import com.bookingapi.bookingapi.model.dto.requestbody.CreateBookingDTO;
+import com.bookingapi.bookingapi.model.dto.responsebody.BookingResponseDTO;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+/**
+ * Reading and writing the booking request and response bodies with an
+ * ObjectMapper built the way Spring MVC builds its own.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BookingJsonBenchmark {
+
+	private ObjectWriter createWriter;
+	private ObjectReader createReader;
+	private ObjectWriter responseWriter;
+	private ObjectReader responseReader;
+	private CreateBookingDTO createBooking;
+	private BookingResponseDTO bookingResponse;
+	private String createBookingJson;
+	private String bookingResponseJson;
+
+	@Setup
+	public void setup() throws JsonProcessingException {
+		ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+		createWriter = objectMapper.writerFor(CreateBookingDTO.class);
+		createReader = objectMapper.readerFor(CreateBookingDTO.class);
+		responseWriter = objectMapper.writerFor(BookingResponseDTO.class);
+		responseReader = objectMapper.readerFor(BookingResponseDTO.class);
+		LocalDate startDate = LocalDate.of(2100, 1, 1);
+		createBooking = CreateBookingDTO.builder().propertyId(3L).userId(7L).startDate(startDate)
+				.endDate(startDate.plusDays(3)).details("Late check-in").build();
+		bookingResponse = BookingResponseDTO.builder().id(1L).propertyDescription("Property 3")
+				.emailUser("guest3@email.com").startDate(startDate).endDate(startDate.plusDays(3))
+				.status(BookingStatus.ACTIVE).details("Late check-in").build();
+		createBookingJson = createWriter.writeValueAsString(createBooking);
+		bookingResponseJson = responseWriter.writeValueAsString(bookingResponse);
+	}
+
+	@Benchmark
+	public String writeCreateBooking() throws JsonProcessingException {
+		return createWriter.writeValueAsString(createBooking);
+	}
+
+	@Benchmark
+	public CreateBookingDTO readCreateBooking() throws JsonProcessingException {
+		return createReader.readValue(createBookingJson);
+	}
+
+	@Benchmark
+	public String writeBookingResponse() throws JsonProcessingException {
+		return responseWriter.writeValueAsString(bookingResponse);
+	}
+
+	@Benchmark
+	public BookingResponseDTO readBookingResponse() throws JsonProcessingException {
+		return responseReader.readValue(bookingResponseJson);
+	}
+
+}
@@ -0,0 +1,90 @@
+package com.bookingapi.bookingapi.benchmark;
+
+import static org.mockito.ArgumentMatchers.anyLong;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.bookingapi.bookingapi.enumerator.BookingStatus;
+import com.bookingapi.bookingapi.exception.BusinessException;
+import com.bookingapi.bookingapi.model.projection.BookingInterval;
+import com.bookingapi.bookingapi.repository.BookingRepository;
+import com.bookingapi.bookingapi.service.availability.PropertyAvailabilityIndex;
+import com.bookingapi.bookingapi.service.validator.BookingValidatorService;
+
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+
+/**
+ * {@link BookingValidatorService#validateBookingPersistence} against the
+ * availability index of a property holding {@code bookings} bookings, for a free
+ * night in the middle of them and for a conflicting one. The database variant of
+ * the check is measured by BookingOverlapQueryBenchmarkTest.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = { "-Xmx2g" })
+public class BookingValidatorOverlapBenchmark {
+
+	private static final Long PROPERTY_ID = 1L;
+	private static final LocalDate FIRST_DAY = LocalDate.of(2100, 1, 1);
+
+	@Param({ "100", "10000", "100000" })
+	private int bookings;
+
+	private BookingValidatorService validator;
+	private LocalDate freeStart;
+	private LocalDate conflictStart;
+
+	@Setup
+	public void setup() {
+		List<BookingInterval> intervals = new ArrayList<>(bookings);
+		for (long i = 0; i < bookings; i++) {
+			// two nights every three days, the third one is free
+			LocalDate start = FIRST_DAY.plusDays(i * 3);
+			intervals.add(new BookingInterval(i + 1, start, start.plusDays(2),
+					i % 5 == 0 ? BookingStatus.BLOCKED : BookingStatus.ACTIVE));
+		}
+		BookingRepository bookingRepository = Mockito.mock(BookingRepository.class);
+		Mockito.when(bookingRepository.findBlockIntervalsFromProperty(anyLong())).thenReturn(intervals);
+		validator = new BookingValidatorService(bookingRepository,
+				new PropertyAvailabilityIndex(bookingRepository, true), null, new CompositeMeterRegistry());
+		long middle = bookings / 2 * 3L;
+		freeStart = FIRST_DAY.plusDays(middle + 2);
+		conflictStart = FIRST_DAY.plusDays(middle + 1);
+		validator.validateBookingPersistence(null, freeStart, freeStart.plusDays(1), PROPERTY_ID);
+	}
+
+	@Benchmark
+	public void freeNight() {
+		validator.validateBookingPersistence(null, freeStart, freeStart.plusDays(1), PROPERTY_ID);
+	}
+
+	@Benchmark
+	public String conflictingNight() {
+		try {
+			validator.validateBookingPersistence(null, conflictStart, conflictStart.plusDays(1), PROPERTY_ID);
+			throw new IllegalStateException("The night should be taken");
+		} catch (BusinessException e) {
+			return e.getReason();
+		}
+	}
+
+}
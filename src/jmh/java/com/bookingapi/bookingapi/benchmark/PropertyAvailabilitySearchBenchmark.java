@@ -0,0 +1,107 @@
+package com.bookingapi.bookingapi.benchmark;
+
+import static org.mockito.ArgumentMatchers.anyCollection;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.bookingapi.bookingapi.enumerator.BookingStatus;
+import com.bookingapi.bookingapi.model.projection.PropertyBookingInterval;
+import com.bookingapi.bookingapi.repository.BookingRepository;
+import com.bookingapi.bookingapi.service.availability.PropertyAvailabilityIndex;
+
+/**
+ * Availability search over 100k properties holding 1M bookings spread over two
+ * years. The repository is stubbed, so this measures the index alone: the first
+ * page, every free property, and a sequential scan of every free property as the
+ * baseline for the fork-join evaluation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = { "-Xmx4g" })
+public class PropertyAvailabilitySearchBenchmark {
+
+	private static final LocalDate FIRST_DAY = LocalDate.of(2100, 1, 1);
+	private static final LocalDate SEARCH_START = LocalDate.of(2100, 6, 1);
+	private static final LocalDate SEARCH_END = LocalDate.of(2100, 6, 8);
+
+	@Param("100000")
+	private int properties;
+
+	@Param("10")
+	private int bookingsPerProperty;
+
+	private PropertyAvailabilityIndex index;
+	private List<Long> propertyIds;
+
+	@Setup
+	public void setup() {
+		Random random = new Random(42);
+		List<PropertyBookingInterval> intervals = new ArrayList<>(properties * bookingsPerProperty);
+		long bookingId = 0;
+		for (long propertyId = 1; propertyId <= properties; propertyId++) {
+			LocalDate day = FIRST_DAY.plusDays(random.nextInt(30));
+			for (int i = 0; i < bookingsPerProperty; i++) {
+				LocalDate end = day.plusDays(1 + random.nextInt(14));
+				intervals.add(new PropertyBookingInterval(propertyId, ++bookingId, day, end,
+						i % 5 == 0 ? BookingStatus.BLOCKED : BookingStatus.ACTIVE));
+				day = end.plusDays(random.nextInt(60));
+			}
+		}
+		Map<Long, List<PropertyBookingInterval>> intervalsByProperty = intervals.stream()
+				.collect(Collectors.groupingBy(PropertyBookingInterval::propertyId));
+		BookingRepository bookingRepository = Mockito.mock(BookingRepository.class);
+		Mockito.when(bookingRepository.findBlockIntervalsFromProperties(anyCollection())).thenAnswer(invocation -> {
+			Collection<Long> ids = invocation.getArgument(0);
+			return ids.stream().flatMap(id -> intervalsByProperty.getOrDefault(id, List.of()).stream()).toList();
+		});
+		index = new PropertyAvailabilityIndex(bookingRepository, true);
+		propertyIds = LongStream.rangeClosed(1, properties).boxed().toList();
+		index.findAvailableProperties(propertyIds, SEARCH_START, SEARCH_END, 1);
+	}
+
+	@Benchmark
+	public List<Long> firstPage() {
+		return index.findAvailableProperties(propertyIds, SEARCH_START, SEARCH_END, 100);
+	}
+
+	@Benchmark
+	public List<Long> allProperties() {
+		return index.findAvailableProperties(propertyIds, SEARCH_START, SEARCH_END, Integer.MAX_VALUE);
+	}
+
+	@Benchmark
+	public List<Long> allPropertiesSequential() {
+		List<Long> available = new ArrayList<>();
+		for (Long propertyId : propertyIds) {
+			if (!index.hasOverlap(propertyId, SEARCH_START, SEARCH_END, null)) {
+				available.add(propertyId);
+			}
+		}
+		return available;
+	}
+
+}
@@ -0,0 +1,101 @@
+package com.bookingapi.bookingapi.benchmark;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.bookingapi.bookingapi.model.dto.responsebody.PropertyResponseDTO;
+import com.bookingapi.bookingapi.service.PropertyService;
+
+/**
+ * {@link PropertyService#findAll} over H2 holding {@code properties} properties
+ * with {@code bookingsPerProperty} bookings each: the first page, the last page
+ * reached by keyset, and every property streamed.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = { "-Xmx2g" })
+public class PropertyFindAllBenchmark {
+
+	private static final int PAGE_SIZE = 100;
+	private static final LocalDate FIRST_DAY = LocalDate.of(2200, 1, 1);
+
+	@Param({ "10000", "100000" })
+	private int properties;
+
+	@Param("5")
+	private int bookingsPerProperty;
+
+	private ConfigurableApplicationContext context;
+	private PropertyService propertyService;
+	private long lastPageAfter;
+
+	@Setup
+	public void setup() {
+		context = BenchmarkApplication.start("find-all-benchmark-" + properties);
+		propertyService = context.getBean(PropertyService.class);
+		JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+		List<Object[]> propertyRows = new ArrayList<>();
+		for (int i = 0; i < properties; i++) {
+			propertyRows.add(new Object[] { "Property " + i });
+		}
+		jdbcTemplate.batchUpdate("INSERT INTO property (id, manager_id, owner_id, description, version) "
+				+ "VALUES (NEXT VALUE FOR property_seq, 8, 9, ?, 0)", propertyRows);
+		List<Object[]> bookingRows = new ArrayList<>();
+		for (Long propertyId : jdbcTemplate.queryForList("SELECT id FROM property", Long.class)) {
+			for (int i = 0; i < bookingsPerProperty; i++) {
+				LocalDate start = FIRST_DAY.plusDays(i * 3L);
+				bookingRows.add(new Object[] { Date.valueOf(start), Date.valueOf(start.plusDays(2)), propertyId,
+						i % 2 == 0 ? "ACTIVE" : "CANCELED" });
+			}
+		}
+		jdbcTemplate.batchUpdate("INSERT INTO booking (id, start_date, end_date, property_id, user_id, status, version) "
+				+ "VALUES (NEXT VALUE FOR booking_seq, ?, ?, ?, 7, ?, 0)", bookingRows);
+		// ids step by the sequence increment, so the last page starts after the 101st id from the end
+		lastPageAfter = jdbcTemplate.queryForObject("SELECT id FROM property ORDER BY id DESC LIMIT 1 OFFSET ?",
+				Long.class, PAGE_SIZE);
+	}
+
+	@TearDown
+	public void tearDown() {
+		context.close();
+	}
+
+	@Benchmark
+	public List<PropertyResponseDTO> firstPage() {
+		return propertyService.findAll(null, PAGE_SIZE);
+	}
+
+	@Benchmark
+	public List<PropertyResponseDTO> lastPage() {
+		return propertyService.findAll(lastPageAfter, PAGE_SIZE);
+	}
+
+	@Benchmark
+	public long streamAll() {
+		long[] count = new long[1];
+		propertyService.streamAll(null, property -> count[0] += property.activeBookings());
+		return count[0];
+	}
+
+}
@@ -0,0 +1,82 @@
+package com.bookingapi.bookingapi.benchmark;
+
+import static org.mockito.ArgumentMatchers.anyLong;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.bookingapi.bookingapi.enumerator.BookingStatus;
+import com.bookingapi.bookingapi.model.projection.BookingInterval;
+import com.bookingapi.bookingapi.repository.BookingRepository;
+import com.bookingapi.bookingapi.service.availability.PropertyAvailabilityIndex;
+import com.bookingapi.bookingapi.service.validator.BookingValidatorService;
+
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+import io.micrometer.prometheus.PrometheusConfig;
+import io.micrometer.prometheus.PrometheusMeterRegistry;
+
+/**
+ * Cost of the validator timers: the availability rule with no registry and with
+ * the {@code booking.validator.rule} timers recording into a Prometheus registry,
+ * as wired by the application. The property holds 1000 bookings already loaded
+ * in the availability index.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ValidatorTimingOverheadBenchmark {
+
+	private static final Long PROPERTY_ID = 1L;
+	private static final LocalDate FIRST_DAY = LocalDate.of(2100, 1, 1);
+	private static final LocalDate SEARCH_START = FIRST_DAY.plusDays(1_502);
+	private static final LocalDate SEARCH_END = FIRST_DAY.plusDays(1_503);
+
+	private BookingValidatorService validator;
+	private BookingValidatorService ruleTimedValidator;
+
+	@Setup
+	public void setup() {
+		List<BookingInterval> intervals = new ArrayList<>();
+		for (long i = 0; i < 1_000; i++) {
+			// two nights every three days, the searched night is free
+			LocalDate start = FIRST_DAY.plusDays(i * 3);
+			intervals.add(new BookingInterval(i + 1, start, start.plusDays(2), BookingStatus.ACTIVE));
+		}
+		BookingRepository bookingRepository = Mockito.mock(BookingRepository.class);
+		Mockito.when(bookingRepository.findBlockIntervalsFromProperty(anyLong())).thenReturn(intervals);
+		PropertyAvailabilityIndex availabilityIndex = new PropertyAvailabilityIndex(bookingRepository, true);
+		PrometheusMeterRegistry meterRegistry = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+		validator = new BookingValidatorService(bookingRepository, availabilityIndex, null,
+				new CompositeMeterRegistry());
+		ruleTimedValidator = new BookingValidatorService(bookingRepository, availabilityIndex, null, meterRegistry);
+		validator.validateBookingPersistence(null, SEARCH_START, SEARCH_END, PROPERTY_ID);
+	}
+
+	@Benchmark
+	public void plain() {
+		validator.validateBookingPersistence(null, SEARCH_START, SEARCH_END, PROPERTY_ID);
+	}
+
+	@Benchmark
+	public void ruleTimed() {
+		ruleTimedValidator.validateBookingPersistence(null, SEARCH_START, SEARCH_END, PROPERTY_ID);
+	}
+
+}
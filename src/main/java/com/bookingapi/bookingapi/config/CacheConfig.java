@@ -0,0 +1,46 @@
+package com.bookingapi.bookingapi.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * Caffeine caches, bounded and expiring according to their spec. Hit and miss
+ * counts are recorded and published by actuator as {@code cache.gets}. Puts and
+ * evictions made inside a transaction are applied once it commits.
+ */
+@Configuration
+// around @Transactional: a hit opens no transaction and evictions run after the commit
+@EnableCaching(order = Ordered.HIGHEST_PRECEDENCE)
+public class CacheConfig {
+
+	public static final String USERS = "users";
+	public static final String PROPERTIES = "properties";
+	public static final String BOOKING_RESPONSES = "bookingResponses";
+	public static final String MANIFESTS = "manifests";
+	public static final String IDEMPOTENT_RESPONSES = "idempotentResponses";
+
+	@Bean
+	public CacheManager cacheManager(
+			@Value("${booking.cache.entities.spec:maximumSize=10000,expireAfterWrite=10m}") String entitiesSpec,
+			@Value("${booking.cache.booking-responses.spec:maximumSize=50000,expireAfterWrite=5m}") String bookingResponsesSpec,
+			@Value("${booking.cache.manifests.spec:maximumSize=1000,expireAfterWrite=10m}") String manifestsSpec,
+			@Value("${booking.cache.idempotent-responses.spec:maximumSize=100000,expireAfterWrite=24h}") String idempotentResponsesSpec) {
+		CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+		cacheManager.registerCustomCache(USERS, Caffeine.from(entitiesSpec).recordStats().build());
+		cacheManager.registerCustomCache(PROPERTIES, Caffeine.from(entitiesSpec).recordStats().build());
+		cacheManager.registerCustomCache(BOOKING_RESPONSES, Caffeine.from(bookingResponsesSpec).recordStats().build());
+		cacheManager.registerCustomCache(MANIFESTS, Caffeine.from(manifestsSpec).recordStats().build());
+		cacheManager.registerCustomCache(IDEMPOTENT_RESPONSES,
+				Caffeine.from(idempotentResponsesSpec).recordStats().build());
+		return new TransactionAwareCacheManagerProxy(cacheManager);
+	}
+
+}
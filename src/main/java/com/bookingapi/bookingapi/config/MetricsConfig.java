@@ -0,0 +1,22 @@
+package com.bookingapi.bookingapi.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Enables {@code @Timed} on beans: each annotated method is published as a timer
+ * tagged with its class and method. Repository calls are already timed by
+ * actuator as {@code spring.data.repository.invocations}.
+ */
+@Configuration
+public class MetricsConfig {
+
+	@Bean
+	public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+		return new TimedAspect(meterRegistry);
+	}
+
+}
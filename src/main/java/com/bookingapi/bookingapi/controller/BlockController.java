@@ -1,5 +1,7 @@
 package com.bookingapi.bookingapi.controller;
 
+import java.util.List;
+
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -7,6 +9,7 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
@@ -15,8 +18,11 @@ import com.bookingapi.bookingapi.group.CreateGroup;
 import com.bookingapi.bookingapi.group.DeleteGroup;
 import com.bookingapi.bookingapi.group.UpdateGroup;
 import com.bookingapi.bookingapi.model.dto.requestbody.BlockDTO;
+import com.bookingapi.bookingapi.model.dto.requestbody.BulkBlockDTO;
 import com.bookingapi.bookingapi.model.dto.responsebody.BookingResponseDTO;
 import com.bookingapi.bookingapi.service.BookingService;
+import com.bookingapi.bookingapi.service.idempotency.IdempotencyService;
+import com.bookingapi.bookingapi.service.lane.PropertyWriteLanes;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -29,25 +35,40 @@ import lombok.RequiredArgsConstructor;
 public class BlockController {
 
 	private final BookingService service;
+	private final PropertyWriteLanes writeLanes;
+	private final IdempotencyService idempotency;
 
 	@PostMapping
-	@Operation(summary = "Creates a block for a property", method = "POST")
-	public ResponseEntity<BookingResponseDTO> createBlock(@Validated(CreateGroup.class) @RequestBody BlockDTO payload) {
-		return ResponseEntity.ok(service.createBlock(payload));
+	@Operation(summary = "Creates a block for a property, or returns the one created by an earlier request with the same Idempotency-Key", method = "POST")
+	public ResponseEntity<BookingResponseDTO> createBlock(
+			@RequestHeader(name = IdempotencyService.HEADER, required = false) String idempotencyKey,
+			@Validated(CreateGroup.class) @RequestBody BlockDTO payload) {
+		return ResponseEntity.ok(idempotency.findResponse(idempotencyKey, payload)
+				.orElseGet(() -> writeLanes.execute(payload.propertyId(),
+						() -> idempotency.execute(idempotencyKey, payload, () -> service.createBlock(payload)))));
+	}
+
+	@PostMapping("/bulk")
+	@Operation(summary = "Creates the same block for many properties, all or none", method = "POST")
+	public ResponseEntity<List<BookingResponseDTO>> createBlocks(
+			@Validated(CreateGroup.class) @RequestBody BulkBlockDTO payload) {
+		// spans several properties, so no single lane owns it: it relies on the property locks instead
+		return ResponseEntity.ok(service.createBlocks(payload));
 	}
 
 	@PutMapping("/{bookingId}")
 	@Operation(summary = "Updates a block by it's id", method = "PUT")
 	public ResponseEntity<BookingResponseDTO> updateBlock(@PathVariable(name = "bookingId") Long bookingId,
 			@Validated(UpdateGroup.class) @RequestBody BlockDTO payload) {
-		return ResponseEntity.ok(service.updateBlock(bookingId, payload));
+		return ResponseEntity
+				.ok(writeLanes.executeForBooking(bookingId, () -> service.updateBlock(bookingId, payload)));
 	}
 
 	@DeleteMapping("/{bookingId}")
 	@Operation(summary = "Deletes a block by it's id", method = "DELETE")
 	public ResponseEntity<Void> deleteBlock(@PathVariable(name = "bookingId") Long bookingId,
 			@Validated(DeleteGroup.class) @RequestParam(name = "userId") Long userId) {
-		service.deleteBlock(bookingId, userId);
+		writeLanes.runForBooking(bookingId, () -> service.deleteBlock(bookingId, userId));
 		return ResponseEntity.noContent().build();
 	}
 }
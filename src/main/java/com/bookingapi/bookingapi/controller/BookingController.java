@@ -1,7 +1,15 @@
 package com.bookingapi.bookingapi.controller;
 
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.format.annotation.DateTimeFormat.ISO;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.util.DigestUtils;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -9,17 +17,28 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import com.bookingapi.bookingapi.enumerator.BookingStatus;
 import com.bookingapi.bookingapi.group.CreateGroup;
 import com.bookingapi.bookingapi.group.UpdateGroup;
 import com.bookingapi.bookingapi.model.dto.requestbody.CreateBookingDTO;
 import com.bookingapi.bookingapi.model.dto.requestbody.RebookingCanceledDTO;
 import com.bookingapi.bookingapi.model.dto.requestbody.UpdateBookingDTO;
+import com.bookingapi.bookingapi.model.dto.responsebody.BookingBatchResultDTO;
+import com.bookingapi.bookingapi.model.dto.responsebody.BookingManifestDTO;
 import com.bookingapi.bookingapi.model.dto.responsebody.BookingResponseDTO;
+import com.bookingapi.bookingapi.model.dto.responsebody.BookingSummaryDTO;
+import com.bookingapi.bookingapi.repository.BookingCursor;
+import com.bookingapi.bookingapi.repository.BookingListingFilter;
 import com.bookingapi.bookingapi.service.BookingService;
+import com.bookingapi.bookingapi.service.idempotency.IdempotencyService;
+import com.bookingapi.bookingapi.service.lane.PropertyWriteLanes;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -31,27 +50,78 @@ import lombok.RequiredArgsConstructor;
 @Tag(name = "Booking Services")
 public class BookingController {
 
+	private static final String DEFAULT_PAGE_LIMIT = "100";
+
 	private final BookingService service;
+	private final PropertyWriteLanes writeLanes;
+	private final IdempotencyService idempotency;
+
+	@GetMapping
+	@Operation(summary = "Finds a page of bookings ordered by property, start date and ID, starting after the informed cursor", method = "GET")
+	public ResponseEntity<List<BookingSummaryDTO>> findBookings(
+			@RequestParam(name = "propertyId", required = false) Long propertyId,
+			@RequestParam(name = "userId", required = false) Long userId,
+			@RequestParam(name = "status", required = false) BookingStatus status,
+			@RequestParam(name = "from", required = false) @DateTimeFormat(iso = ISO.DATE) LocalDate from,
+			@RequestParam(name = "to", required = false) @DateTimeFormat(iso = ISO.DATE) LocalDate to,
+			@RequestParam(name = "after", required = false) String after,
+			@RequestParam(name = "limit", defaultValue = DEFAULT_PAGE_LIMIT) int limit) {
+		BookingListingFilter filter = BookingListingFilter.builder().propertyId(propertyId).userId(userId)
+				.status(status).from(from).to(to).build();
+		List<BookingSummaryDTO> bookings = service.findBookings(filter, after, limit);
+		if (bookings.size() < limit) {
+			return ResponseEntity.ok(bookings);
+		}
+		String next = ServletUriComponentsBuilder.fromCurrentRequest()
+				.replaceQueryParam("after", BookingCursor.of(bookings.get(bookings.size() - 1)))
+				.replaceQueryParam("limit", limit).toUriString();
+		return ResponseEntity.ok().header(HttpHeaders.LINK, String.format("<%s>; rel=\"next\"", next))
+				.body(bookings);
+	}
+
+	@GetMapping("/manifest")
+	@Operation(summary = "Finds the arrivals and departures of a date, today by default, grouped by property", method = "GET")
+	public ResponseEntity<BookingManifestDTO> findManifest(
+			@RequestParam(name = "date", required = false) @DateTimeFormat(iso = ISO.DATE) LocalDate date) {
+		return ResponseEntity.ok(service.findManifest(date == null ? LocalDate.now() : date));
+	}
 
 	@GetMapping("/{id}")
 	@Operation(summary = "Finds a booking by ID", method = "GET")
-	public ResponseEntity<BookingResponseDTO> findBookingById(@PathVariable(name = "id") Long id) {
-		return ResponseEntity.ok(service.findBookingResponseDTOById(id));
+	public ResponseEntity<BookingResponseDTO> findBookingById(@PathVariable(name = "id") Long id,
+			WebRequest request) {
+		BookingResponseDTO booking = service.findBookingResponseDTOById(id);
+		String eTag = eTagOf(booking);
+		if (request.checkNotModified(eTag)) {
+			// 304, headers already set by checkNotModified
+			return null;
+		}
+		return ResponseEntity.ok().eTag(eTag).body(booking);
 	}
 
 	@PostMapping
-	@Operation(summary = "Creates a booking", method = "POST")
+	@Operation(summary = "Creates a booking, or returns the one created by an earlier request with the same Idempotency-Key", method = "POST")
 	public ResponseEntity<BookingResponseDTO> create(
+			@RequestHeader(name = IdempotencyService.HEADER, required = false) String idempotencyKey,
 			@Validated(CreateGroup.class) @RequestBody CreateBookingDTO payload) {
-		BookingResponseDTO bookingCreated = service.createBooking(payload);
+		BookingResponseDTO bookingCreated = idempotency.findResponse(idempotencyKey, payload)
+				.orElseGet(() -> writeLanes.execute(payload.propertyId(), () -> idempotency.execute(idempotencyKey,
+						payload, () -> service.createBooking(payload))));
 		return new ResponseEntity<>(bookingCreated, HttpStatus.CREATED);
 	}
 
+	@PostMapping("/batch")
+	@Operation(summary = "Creates a batch of bookings, reporting the result of each one", method = "POST")
+	public ResponseEntity<List<BookingBatchResultDTO>> createBatch(@RequestBody List<CreateBookingDTO> payload) {
+		// spans several properties, so no single lane owns it: it relies on the property locks instead
+		return ResponseEntity.ok(service.createBookings(payload));
+	}
+
 	@PutMapping("/{id}")
 	@Operation(summary = "Updates an existing booking", method = "PUT")
 	public ResponseEntity<BookingResponseDTO> update(@PathVariable(name = "id") Long id,
 			@Validated(UpdateGroup.class) @RequestBody UpdateBookingDTO payload) {
-		BookingResponseDTO updatedBooking = service.update(id, payload);
+		BookingResponseDTO updatedBooking = writeLanes.executeForBooking(id, () -> service.update(id, payload));
 		return ResponseEntity.ok(updatedBooking);
 	}
 
@@ -59,14 +129,15 @@ public class BookingController {
 	@Operation(summary = "Rebooks an existing canceled booking", method = "PUT")
 	public ResponseEntity<BookingResponseDTO> rebookCanceledBooking(@PathVariable(name = "bookingId") Long bookingId,
 			@Validated @RequestBody RebookingCanceledDTO payload) {
-		BookingResponseDTO updatedBooking = service.rebookCanceledBooking(bookingId, payload);
+		BookingResponseDTO updatedBooking = writeLanes.executeForBooking(bookingId,
+				() -> service.rebookCanceledBooking(bookingId, payload));
 		return ResponseEntity.ok(updatedBooking);
 	}
 
 	@DeleteMapping("/{id}")
 	@Operation(summary = "Deletes a booking from the system", method = "DELETE")
 	public ResponseEntity<Void> delete(@PathVariable(name = "id") Long id, @RequestParam(name = "userId") Long userId) {
-		service.delete(id, userId);
+		writeLanes.runForBooking(id, () -> service.delete(id, userId));
 		return ResponseEntity.noContent().build();
 	}
 
@@ -74,7 +145,12 @@ public class BookingController {
 	@Operation(summary = "Cancels a booking if it's active", method = "PUT")
 	public ResponseEntity<BookingResponseDTO> cancelBooking(@RequestParam("id") Long bookingId,
 			@RequestParam("userId") Long userId) {
-		return ResponseEntity.ok(service.cancelBooking(bookingId, userId));
+		return ResponseEntity
+				.ok(writeLanes.executeForBooking(bookingId, () -> service.cancelBooking(bookingId, userId)));
+	}
+
+	private static String eTagOf(BookingResponseDTO booking) {
+		return "\"" + DigestUtils.md5DigestAsHex(booking.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
 	}
 
 }
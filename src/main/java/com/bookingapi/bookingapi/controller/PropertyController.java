@@ -1,21 +1,35 @@
 package com.bookingapi.bookingapi.controller;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
 import java.util.List;
 
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.format.annotation.DateTimeFormat.ISO;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import com.bookingapi.bookingapi.group.CreateGroup;
 import com.bookingapi.bookingapi.model.dto.requestbody.PropertyDTO;
+import com.bookingapi.bookingapi.model.dto.responsebody.PropertyAvailabilityResponseDTO;
 import com.bookingapi.bookingapi.model.dto.responsebody.PropertyResponseDTO;
 import com.bookingapi.bookingapi.service.PropertyService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 
+import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 
@@ -25,12 +39,49 @@ import lombok.RequiredArgsConstructor;
 @Tag(name = "Property Services")
 public class PropertyController {
 
+	private static final String DEFAULT_PAGE_LIMIT = "100";
+
 	private final PropertyService service;
+	private final ObjectMapper objectMapper;
 
 	@GetMapping
-	public ResponseEntity<List<PropertyResponseDTO>> findAll() {
-		List<PropertyResponseDTO> properties = service.findAll();
-		return ResponseEntity.ok(properties);
+	@Operation(summary = "Finds a page of properties ordered by ID, starting after the informed ID", method = "GET")
+	public ResponseEntity<List<PropertyResponseDTO>> findAll(@RequestParam(name = "after", required = false) Long after,
+			@RequestParam(name = "limit", defaultValue = DEFAULT_PAGE_LIMIT) int limit) {
+		return page(service.findAll(after, limit), limit);
+	}
+
+	@GetMapping("/search/available")
+	@Operation(summary = "Finds a page of properties free between the informed dates, ordered by ID", method = "GET")
+	public ResponseEntity<List<PropertyResponseDTO>> findAvailable(
+			@RequestParam(name = "start") @DateTimeFormat(iso = ISO.DATE) LocalDate start,
+			@RequestParam(name = "end") @DateTimeFormat(iso = ISO.DATE) LocalDate end,
+			@RequestParam(name = "after", required = false) Long after,
+			@RequestParam(name = "limit", defaultValue = DEFAULT_PAGE_LIMIT) int limit) {
+		return page(service.findAvailable(start, end, after, limit), limit);
+	}
+
+	@GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+	@Operation(summary = "Streams every property after the informed ID as newline delimited JSON", method = "GET")
+	public ResponseEntity<StreamingResponseBody> streamAll(
+			@RequestParam(name = "after", required = false) Long after) {
+		StreamingResponseBody body = outputStream -> service.streamAll(after, property -> {
+			try {
+				outputStream.write(objectMapper.writeValueAsBytes(property));
+				outputStream.write('\n');
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		});
+		return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+	}
+
+	@GetMapping("/{id}/availability")
+	@Operation(summary = "Finds the free and occupied days of a property, ranges are [start_date, end_date)", method = "GET")
+	public ResponseEntity<PropertyAvailabilityResponseDTO> findAvailability(@PathVariable(name = "id") Long id,
+			@RequestParam(name = "from", required = false) @DateTimeFormat(iso = ISO.DATE) LocalDate from,
+			@RequestParam(name = "to", required = false) @DateTimeFormat(iso = ISO.DATE) LocalDate to) {
+		return ResponseEntity.ok(service.findAvailability(id, from, to));
 	}
 
 	@PostMapping
@@ -39,4 +90,14 @@ public class PropertyController {
 		return new ResponseEntity<>(propertyCreated, HttpStatus.CREATED);
 	}
 
+	private static ResponseEntity<List<PropertyResponseDTO>> page(List<PropertyResponseDTO> properties, int limit) {
+		if (properties.size() < limit) {
+			return ResponseEntity.ok(properties);
+		}
+		String next = ServletUriComponentsBuilder.fromCurrentRequest().replaceQueryParam("after",
+				properties.get(properties.size() - 1).id()).replaceQueryParam("limit", limit).toUriString();
+		return ResponseEntity.ok().header(HttpHeaders.LINK, String.format("<%s>; rel=\"next\"", next))
+				.body(properties);
+	}
+
 }
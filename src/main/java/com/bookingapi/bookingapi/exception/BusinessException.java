@@ -11,14 +11,24 @@ public class BusinessException extends RuntimeException {
 	@Getter
 	private final HttpStatus httpStatus;
 
+	// the unformatted message, used as a metric tag
+	@Getter
+	private final String reason;
+
 	public BusinessException(String message) {
-		super(message);
-		this.httpStatus = HttpStatus.BAD_REQUEST;
+		this(message, HttpStatus.BAD_REQUEST);
 	}
 
 	public BusinessException(String message, HttpStatus httpStatus) {
 		super(message);
 		this.httpStatus = httpStatus;
+		this.reason = message;
+	}
+
+	public BusinessException(String message, String reason) {
+		super(message);
+		this.httpStatus = HttpStatus.BAD_REQUEST;
+		this.reason = reason;
 	}
 
 }
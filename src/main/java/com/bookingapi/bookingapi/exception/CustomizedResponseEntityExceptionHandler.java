@@ -4,6 +4,7 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 import org.apache.tomcat.util.buf.StringUtils;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.HttpStatusCode;
@@ -20,12 +21,20 @@ import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExcep
 
 import com.bookingapi.bookingapi.model.dto.responsebody.ExceptionResponseDTO;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.persistence.EntityNotFoundException;
+import lombok.RequiredArgsConstructor;
 
 @ControllerAdvice
 @RestController
+@RequiredArgsConstructor
 public class CustomizedResponseEntityExceptionHandler extends ResponseEntityExceptionHandler {
 
+	public static final String METRIC_BUSINESS_ERRORS = "booking.business.errors";
+	private static final String MSG_CONCURRENT_MODIFICATION = "The resource was modified by another request, reload it and try again";
+
+	private final MeterRegistry meterRegistry;
+
 	@ExceptionHandler(Exception.class)
 	public final ResponseEntity<ExceptionResponseDTO> handletAllExceptions(Exception ex, WebRequest request) {
 		ExceptionResponseDTO exceptionResponse = new ExceptionResponseDTO(ex.getMessage(), LocalDateTime.now(),
@@ -44,6 +53,8 @@ public class CustomizedResponseEntityExceptionHandler extends ResponseEntityExce
 	@ExceptionHandler(BusinessException.class)
 	public final ResponseEntity<ExceptionResponseDTO> handleBusinessException(BusinessException ex,
 			WebRequest request) {
+		meterRegistry.counter(METRIC_BUSINESS_ERRORS, "reason", ex.getReason(), "status",
+				String.valueOf(ex.getHttpStatus().value())).increment();
 		ExceptionResponseDTO exceptionResponse = new ExceptionResponseDTO(ex.getMessage(), LocalDateTime.now(),
 				request.getDescription(false));
 		return new ResponseEntity<>(exceptionResponse, ex.getHttpStatus());
@@ -57,6 +68,14 @@ public class CustomizedResponseEntityExceptionHandler extends ResponseEntityExce
 		return new ResponseEntity<>(exceptionResponse, HttpStatus.NOT_FOUND);
 	}
 
+	@ExceptionHandler(OptimisticLockingFailureException.class)
+	public final ResponseEntity<ExceptionResponseDTO> handleOptimisticLockingFailureException(
+			OptimisticLockingFailureException ex, WebRequest request) {
+		ExceptionResponseDTO exceptionResponse = new ExceptionResponseDTO(MSG_CONCURRENT_MODIFICATION,
+				LocalDateTime.now(), request.getDescription(false));
+		return new ResponseEntity<>(exceptionResponse, HttpStatus.CONFLICT);
+	}
+
 	@Override
 	protected ResponseEntity<Object> handleHttpMessageNotReadable(HttpMessageNotReadableException ex,
 			HttpHeaders headers, HttpStatusCode status, WebRequest request) {
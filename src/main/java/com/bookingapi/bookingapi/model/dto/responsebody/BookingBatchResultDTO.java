@@ -0,0 +1,12 @@
+package com.bookingapi.bookingapi.model.dto.responsebody;
+
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+
+import lombok.Builder;
+
+@Builder
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+public record BookingBatchResultDTO(int index, int status, BookingResponseDTO booking, String message) {
+
+}
@@ -0,0 +1,21 @@
+package com.bookingapi.bookingapi.model.dto.responsebody;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import com.bookingapi.bookingapi.util.BookingApiUtils;
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonFormat.Shape;
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+
+import lombok.Builder;
+
+@Builder
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+public record PropertyAvailabilityResponseDTO(Long propertyId,
+		@JsonFormat(shape = Shape.STRING, pattern = BookingApiUtils.DATE_FORMAT) LocalDate from,
+		@JsonFormat(shape = Shape.STRING, pattern = BookingApiUtils.DATE_FORMAT) LocalDate to,
+		List<DateRangeDTO> free, List<DateRangeDTO> occupied) {
+
+}
@@ -0,0 +1,15 @@
+package com.bookingapi.bookingapi.model.dto.responsebody;
+
+import java.util.List;
+
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+
+import lombok.Builder;
+
+@Builder
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+public record PropertyManifestDTO(Long propertyId, String propertyDescription, List<BookingResponseDTO> arrivals,
+		List<BookingResponseDTO> departures) {
+
+}
@@ -3,16 +3,24 @@ package com.bookingapi.bookingapi.model.entity;
 import java.time.LocalDate;
 
 import com.bookingapi.bookingapi.enumerator.BookingStatus;
+import com.bookingapi.bookingapi.service.availability.BookingAvailabilityListener;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.EqualsAndHashCode;
@@ -21,7 +29,18 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 @Entity
-@Table(name = "booking")
+@Table(name = "booking", indexes = {
+		@Index(name = "idx_booking_property_status_dates", columnList = "property_id, status, start_date, end_date"),
+		// arrivals and departures of the manifest, the end date also bounds the archival
+		@Index(name = "idx_booking_start_date", columnList = "start_date"),
+		@Index(name = "idx_booking_end_date", columnList = "end_date"),
+		// keyset order of the listing, covering every listed column, with and without a user filter
+		@Index(name = "idx_booking_listing", columnList = "property_id, start_date, id, end_date, status, user_id"),
+		@Index(name = "idx_booking_user_listing", columnList = "user_id, property_id, start_date, id, end_date, status") })
+@EntityListeners(BookingAvailabilityListener.class)
+@NamedEntityGraph(name = Booking.GRAPH_RESPONSE, attributeNodes = { @NamedAttributeNode("property"),
+		@NamedAttributeNode("user") })
+@NamedEntityGraph(name = Booking.GRAPH_PERMISSION, attributeNodes = @NamedAttributeNode("property"))
 @Getter
 @Setter
 @AllArgsConstructor
@@ -30,8 +49,14 @@ import lombok.Setter;
 @Builder
 public class Booking {
 
+	// user email and property description for BookingResponseDTO
+	public static final String GRAPH_RESPONSE = "Booking.response";
+	// property row only: manager and owner ids come from its foreign keys
+	public static final String GRAPH_PERMISSION = "Booking.permission";
+
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "booking_seq")
+	@SequenceGenerator(name = "booking_seq", sequenceName = "booking_seq", allocationSize = 50)
 	private Long id;
 
 	@Column(nullable = false)
@@ -40,17 +65,20 @@ public class Booking {
 	@Column(nullable = false)
 	private LocalDate endDate;
 
-	@ManyToOne(optional = false)
+	@ManyToOne(optional = false, fetch = FetchType.LAZY)
 	private Property property;
 
 	@Enumerated(EnumType.STRING)
 	@Column(nullable = false)
 	private BookingStatus status;
 
-	@ManyToOne(optional = false)
+	@ManyToOne(optional = false, fetch = FetchType.LAZY)
 	private User user;
 	
 	@Column
 	private String details;
 
+	@Version
+	private Long version;
+
 }
@@ -0,0 +1,66 @@
+package com.bookingapi.bookingapi.model.entity;
+
+import java.time.LocalDate;
+
+import org.hibernate.annotations.Immutable;
+
+import com.bookingapi.bookingapi.enumerator.BookingStatus;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.Id;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * Booking moved out of the {@code booking} table once it ended before the
+ * archive horizon. Keeps the id of the original booking and is never updated.
+ */
+@Entity
+@Immutable
+@Table(name = "booking_archive")
+@NamedEntityGraph(name = BookingArchive.GRAPH_RESPONSE, attributeNodes = { @NamedAttributeNode("property"),
+		@NamedAttributeNode("user") })
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class BookingArchive {
+
+	public static final String GRAPH_RESPONSE = "BookingArchive.response";
+
+	@Id
+	private Long id;
+
+	@Column(nullable = false)
+	private LocalDate startDate;
+
+	@Column(nullable = false)
+	private LocalDate endDate;
+
+	@ManyToOne(optional = false, fetch = FetchType.LAZY)
+	private Property property;
+
+	@Enumerated(EnumType.STRING)
+	@Column(nullable = false)
+	private BookingStatus status;
+
+	@ManyToOne(optional = false, fetch = FetchType.LAZY)
+	private User user;
+
+	@Column
+	private String details;
+
+	@Column(nullable = false)
+	private LocalDate archivedDate;
+
+}
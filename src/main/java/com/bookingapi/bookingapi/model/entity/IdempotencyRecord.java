@@ -0,0 +1,55 @@
+package com.bookingapi.bookingapi.model.entity;
+
+import java.time.LocalDateTime;
+
+import org.hibernate.annotations.Immutable;
+import org.springframework.data.domain.Persistable;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * Response of a booking write sent with an {@code Idempotency-Key}, stored as
+ * JSON with the fingerprint of the request that produced it.
+ */
+@Entity
+@Immutable
+@Table(name = "idempotency_record", indexes = @Index(name = "idx_idempotency_created_at", columnList = "created_at"))
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class IdempotencyRecord implements Persistable<String> {
+
+	@Id
+	@Column(name = "idempotency_key")
+	private String key;
+
+	@Column(nullable = false, length = 32)
+	private String fingerprint;
+
+	@Column(nullable = false, length = 4000)
+	private String response;
+
+	@Column(nullable = false)
+	private LocalDateTime createdAt;
+
+	@Override
+	public String getId() {
+		return key;
+	}
+
+	// records are only inserted: persisting, instead of merging, fails on a key already taken
+	@Override
+	public boolean isNew() {
+		return true;
+	}
+
+}
@@ -4,12 +4,15 @@ import java.util.List;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.EqualsAndHashCode;
@@ -28,7 +31,8 @@ import lombok.Setter;
 public class Property {
 
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "property_seq")
+	@SequenceGenerator(name = "property_seq", sequenceName = "property_seq", allocationSize = 50)
 	private Long id;
 
 	@Column
@@ -37,10 +41,13 @@ public class Property {
 	@OneToMany(mappedBy = "property")
 	private List<Booking> bookings;
 
-	@ManyToOne
+	@ManyToOne(fetch = FetchType.LAZY)
 	private User manager;
 
-	@ManyToOne
+	@ManyToOne(fetch = FetchType.LAZY)
 	private User owner;
 
+	@Version
+	private Long version;
+
 }
@@ -0,0 +1,9 @@
+package com.bookingapi.bookingapi.model.projection;
+
+import java.time.LocalDate;
+
+import com.bookingapi.bookingapi.enumerator.BookingStatus;
+
+public record BookingInterval(Long id, LocalDate startDate, LocalDate endDate, BookingStatus status) {
+
+}
@@ -0,0 +1,10 @@
+package com.bookingapi.bookingapi.model.projection;
+
+import java.time.LocalDate;
+
+import com.bookingapi.bookingapi.enumerator.BookingStatus;
+
+public record PropertyBookingInterval(Long propertyId, Long id, LocalDate startDate, LocalDate endDate,
+		BookingStatus status) {
+
+}
@@ -0,0 +1,24 @@
+package com.bookingapi.bookingapi.repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.bookingapi.bookingapi.model.entity.BookingArchive;
+
+public interface BookingArchiveRepository extends JpaRepository<BookingArchive, Long> {
+
+	@EntityGraph(BookingArchive.GRAPH_RESPONSE)
+	Optional<BookingArchive> findWithPropertyAndUserById(Long id);
+
+	@Modifying
+	@Query(value = "INSERT INTO BookingArchive (id, startDate, endDate, property, status, user, details, archivedDate) SELECT b.id, b.startDate, b.endDate, b.property, b.status, b.user, b.details, current_date FROM Booking b where b.id IN :ids and b.endDate < :horizon")
+	int archive(@Param("ids") Collection<Long> ids, @Param("horizon") LocalDate horizon);
+
+}
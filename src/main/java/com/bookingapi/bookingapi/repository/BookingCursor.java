@@ -0,0 +1,38 @@
+package com.bookingapi.bookingapi.repository;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+
+import com.bookingapi.bookingapi.exception.BusinessException;
+import com.bookingapi.bookingapi.model.dto.responsebody.BookingSummaryDTO;
+
+/**
+ * Position of a booking in the listing order (property, start date, id), written
+ * as {@code <propertyId>:<startDate>:<id>}.
+ */
+public record BookingCursor(Long propertyId, LocalDate startDate, Long id) {
+
+	static final String MSG_INVALID_CURSOR = "The cursor must be <propertyId>:<startDate>:<id>";
+
+	public static BookingCursor of(BookingSummaryDTO booking) {
+		return new BookingCursor(booking.propertyId(), booking.startDate(), booking.id());
+	}
+
+	public static BookingCursor parse(String value) {
+		String[] parts = value.split(":");
+		if (parts.length != 3) {
+			throw new BusinessException(MSG_INVALID_CURSOR);
+		}
+		try {
+			return new BookingCursor(Long.valueOf(parts[0]), LocalDate.parse(parts[1]), Long.valueOf(parts[2]));
+		} catch (NumberFormatException | DateTimeParseException e) {
+			throw new BusinessException(MSG_INVALID_CURSOR);
+		}
+	}
+
+	@Override
+	public String toString() {
+		return propertyId + ":" + startDate + ":" + id;
+	}
+
+}
@@ -0,0 +1,17 @@
+package com.bookingapi.bookingapi.repository;
+
+import java.time.LocalDate;
+
+import com.bookingapi.bookingapi.enumerator.BookingStatus;
+
+import lombok.Builder;
+
+/**
+ * Optional criteria of the booking listing; {@code from} and {@code to} keep the
+ * bookings overlapping [from, to).
+ */
+@Builder
+public record BookingListingFilter(Long propertyId, Long userId, BookingStatus status, LocalDate from,
+		LocalDate to) {
+
+}
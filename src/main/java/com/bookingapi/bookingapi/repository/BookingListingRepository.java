@@ -0,0 +1,15 @@
+package com.bookingapi.bookingapi.repository;
+
+import java.util.List;
+
+import com.bookingapi.bookingapi.model.dto.responsebody.BookingSummaryDTO;
+
+public interface BookingListingRepository {
+
+	/**
+	 * Up to {@code limit} bookings matching the filter ordered by property, start
+	 * date and id, starting after the cursor when informed.
+	 */
+	List<BookingSummaryDTO> findSummaries(BookingListingFilter filter, BookingCursor after, int limit);
+
+}
@@ -0,0 +1,77 @@
+package com.bookingapi.bookingapi.repository;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.bookingapi.bookingapi.enumerator.BookingStatus;
+import com.bookingapi.bookingapi.model.dto.responsebody.BookingSummaryDTO;
+import com.bookingapi.bookingapi.model.entity.Booking;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Builds the listing query with only the informed criteria, so each combination
+ * gets a plain predicate the database can match against
+ * {@code idx_booking_listing} or {@code idx_booking_user_listing} instead of
+ * {@code :param is null or ...} checks.
+ */
+@RequiredArgsConstructor
+class BookingListingRepositoryImpl implements BookingListingRepository {
+
+	private final EntityManager entityManager;
+
+	@Override
+	public List<BookingSummaryDTO> findSummaries(BookingListingFilter filter, BookingCursor after, int limit) {
+		CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+		CriteriaQuery<BookingSummaryDTO> query = cb.createQuery(BookingSummaryDTO.class);
+		Root<Booking> booking = query.from(Booking.class);
+		Path<Long> id = booking.get("id");
+		Path<Long> propertyId = booking.get("property").get("id");
+		Path<Long> userId = booking.get("user").get("id");
+		Path<LocalDate> startDate = booking.get("startDate");
+		Path<LocalDate> endDate = booking.get("endDate");
+		Path<BookingStatus> status = booking.get("status");
+
+		List<Predicate> predicates = new ArrayList<>();
+		if (filter.propertyId() != null) {
+			predicates.add(cb.equal(propertyId, filter.propertyId()));
+		}
+		if (filter.userId() != null) {
+			predicates.add(cb.equal(userId, filter.userId()));
+		}
+		if (filter.status() != null) {
+			predicates.add(cb.equal(status, filter.status()));
+		}
+		if (filter.from() != null) {
+			predicates.add(cb.greaterThan(endDate, filter.from()));
+		}
+		if (filter.to() != null) {
+			predicates.add(cb.lessThan(startDate, filter.to()));
+		}
+		if (after != null) {
+			// (property, start, id) > cursor, led by the bound on the first column
+			// so the index scan starts at the cursor instead of the first row
+			predicates.add(cb.greaterThanOrEqualTo(propertyId, after.propertyId()));
+			predicates.add(cb.or(cb.greaterThan(propertyId, after.propertyId()),
+					cb.and(cb.equal(propertyId, after.propertyId()), cb.greaterThan(startDate, after.startDate())),
+					cb.and(cb.equal(propertyId, after.propertyId()), cb.equal(startDate, after.startDate()),
+							cb.greaterThan(id, after.id()))));
+			if (after.propertyId().equals(filter.propertyId())) {
+				predicates.add(cb.greaterThanOrEqualTo(startDate, after.startDate()));
+			}
+		}
+
+		query.select(cb.construct(BookingSummaryDTO.class, id, propertyId, userId, startDate, endDate, status))
+				.where(predicates.toArray(Predicate[]::new))
+				.orderBy(cb.asc(propertyId), cb.asc(startDate), cb.asc(id));
+		return entityManager.createQuery(query).setMaxResults(limit).getResultList();
+	}
+
+}
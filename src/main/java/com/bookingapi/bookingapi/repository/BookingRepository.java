@@ -1,25 +1,79 @@
 package com.bookingapi.bookingapi.repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import com.bookingapi.bookingapi.enumerator.BookingStatus;
 import com.bookingapi.bookingapi.model.entity.Booking;
+import com.bookingapi.bookingapi.model.projection.BookingInterval;
+import com.bookingapi.bookingapi.model.projection.PropertyBookingInterval;
 
-public interface BookingRepository extends JpaRepository<Booking, Long> {
+import jakarta.persistence.LockModeType;
+
+public interface BookingRepository extends JpaRepository<Booking, Long>, BookingListingRepository {
+
+	@EntityGraph(Booking.GRAPH_RESPONSE)
+	Optional<Booking> findWithPropertyAndUserById(Long id);
+
+	@EntityGraph(Booking.GRAPH_PERMISSION)
+	Optional<Booking> findWithPropertyById(Long id);
+
+	@EntityGraph(Booking.GRAPH_RESPONSE)
+	@Query(value = "SELECT b FROM Booking b where b.startDate = :date and b.status = :status ORDER BY b.property.id, b.id")
+	List<Booking> findArrivals(@Param("date") LocalDate date, @Param("status") BookingStatus status);
+
+	@EntityGraph(Booking.GRAPH_RESPONSE)
+	@Query(value = "SELECT b FROM Booking b where b.endDate = :date and b.status = :status ORDER BY b.property.id, b.id")
+	List<Booking> findDepartures(@Param("date") LocalDate date, @Param("status") BookingStatus status);
+
+	@Query(value = "SELECT b.property.id FROM Booking b where b.id = :id")
+	Optional<Long> findPropertyIdById(@Param("id") Long id);
 
 	List<Booking> findByPropertyIdAndStatus(@Param("propertyId") Long propertyId,
 			@Param("status") BookingStatus status);
 
-	@Query(value = "SELECT b FROM Booking b where b.property.id = :idProperty and b.status IN ('ACTIVE','BLOCKED') and (:startDate between b.startDate and b.endDate OR :endDate between b.startDate and b.endDate)")
-	List<Booking> findBlocksFromPropertyBetweenDates(@Param("idProperty") Long idProperty,
+	@Query(value = "SELECT CASE WHEN EXISTS (SELECT 1 FROM Booking b where b.property.id = :idProperty and b.status IN ('ACTIVE','BLOCKED') and b.startDate < :endDate and b.endDate > :startDate and (:excludedId is null or b.id <> :excludedId)) THEN true ELSE false END")
+	boolean existsBlockFromPropertyBetweenDates(@Param("idProperty") Long idProperty,
+			@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate,
+			@Param("excludedId") Long excludedId);
+
+	@Query(value = "SELECT new com.bookingapi.bookingapi.model.projection.BookingInterval(b.id, b.startDate, b.endDate, b.status) FROM Booking b where b.property.id = :idProperty and b.status IN ('ACTIVE','BLOCKED')")
+	List<BookingInterval> findBlockIntervalsFromProperty(@Param("idProperty") Long idProperty);
+
+	@Query(value = "SELECT new com.bookingapi.bookingapi.model.projection.PropertyBookingInterval(b.property.id, b.id, b.startDate, b.endDate, b.status) FROM Booking b where b.property.id IN :idsProperty and b.startDate < :endDate and b.endDate > :startDate")
+	List<PropertyBookingInterval> findIntervalsFromPropertiesBetweenDates(
+			@Param("idsProperty") Collection<Long> idsProperty, @Param("startDate") LocalDate startDate,
+			@Param("endDate") LocalDate endDate);
+
+	@Modifying
+	@Query(value = "DELETE FROM Booking b where b.property.id IN :idsProperty and b.status = :status and b.startDate < :endDate and b.endDate > :startDate")
+	int deleteFromPropertiesBetweenDates(@Param("idsProperty") Collection<Long> idsProperty,
+			@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate,
+			@Param("status") BookingStatus status);
+
+	@Query(value = "SELECT new com.bookingapi.bookingapi.model.projection.BookingInterval(b.id, b.startDate, b.endDate, b.status) FROM Booking b where b.property.id = :idProperty and b.status IN ('ACTIVE','BLOCKED') and b.startDate < :endDate and b.endDate > :startDate")
+	List<BookingInterval> findBlockIntervalsFromPropertyBetweenDates(@Param("idProperty") Long idProperty,
 			@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
-	
-	@Query(value = "SELECT b FROM Booking b where b.property.id = :idProperty and b.status IN :status and (:startDate between b.startDate and b.endDate OR :endDate between b.startDate and b.endDate)")
-	List<Booking> findBookingsFromPropertyBetweenDates(@Param("idProperty") Long idProperty,
-			@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate, @Param("status") List<BookingStatus> status);
+
+	@Query(value = "SELECT new com.bookingapi.bookingapi.model.projection.PropertyBookingInterval(b.property.id, b.id, b.startDate, b.endDate, b.status) FROM Booking b where b.property.id IN :idsProperty and b.status IN ('ACTIVE','BLOCKED')")
+	List<PropertyBookingInterval> findBlockIntervalsFromProperties(@Param("idsProperty") Collection<Long> idsProperty);
+
+	// the rows stay locked until the archive commits, so no write can change them in between
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	@Query(value = "SELECT new com.bookingapi.bookingapi.model.projection.PropertyBookingInterval(b.property.id, b.id, b.startDate, b.endDate, b.status) FROM Booking b where b.endDate < :horizon ORDER BY b.id")
+	List<PropertyBookingInterval> findIntervalsEndingBefore(@Param("horizon") LocalDate horizon, Pageable pageable);
+
+	@Modifying
+	@Query(value = "DELETE FROM Booking b where b.id IN :ids and b.endDate < :horizon")
+	int deleteEndedBefore(@Param("ids") Collection<Long> ids, @Param("horizon") LocalDate horizon);
 }
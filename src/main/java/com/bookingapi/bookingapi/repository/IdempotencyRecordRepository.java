@@ -0,0 +1,18 @@
+package com.bookingapi.bookingapi.repository;
+
+import java.time.LocalDateTime;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.bookingapi.bookingapi.model.entity.IdempotencyRecord;
+
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, String> {
+
+	@Modifying
+	@Query(value = "DELETE FROM IdempotencyRecord r where r.createdAt < :before")
+	int deleteCreatedBefore(@Param("before") LocalDateTime before);
+
+}
@@ -1,9 +1,39 @@
 package com.bookingapi.bookingapi.repository;
 
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import com.bookingapi.bookingapi.model.dto.responsebody.PropertyResponseDTO;
 import com.bookingapi.bookingapi.model.entity.Property;
 
+import jakarta.persistence.QueryHint;
+
 public interface PropertyRepository extends JpaRepository<Property, Long>{
 
+	@Query(value = "SELECT new com.bookingapi.bookingapi.model.dto.responsebody.PropertyResponseDTO(p.id, p.description, o.email, m.email, COUNT(b)) FROM Property p LEFT JOIN p.owner o LEFT JOIN p.manager m LEFT JOIN p.bookings b ON b.status = 'ACTIVE' WHERE p.id > :after GROUP BY p.id, p.description, o.email, m.email ORDER BY p.id")
+	List<PropertyResponseDTO> findPropertyResponsesAfter(@Param("after") Long after, Pageable pageable);
+
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+	@Query(value = "SELECT new com.bookingapi.bookingapi.model.dto.responsebody.PropertyResponseDTO(p.id, p.description, o.email, m.email, COUNT(b)) FROM Property p LEFT JOIN p.owner o LEFT JOIN p.manager m LEFT JOIN p.bookings b ON b.status = 'ACTIVE' WHERE p.id > :after GROUP BY p.id, p.description, o.email, m.email ORDER BY p.id")
+	Stream<PropertyResponseDTO> streamPropertyResponsesAfter(@Param("after") Long after);
+
+	@Query(value = "SELECT p.id FROM Property p WHERE p.id > :after ORDER BY p.id")
+	List<Long> findIdsAfter(@Param("after") Long after, Pageable pageable);
+
+	@Query(value = "SELECT new com.bookingapi.bookingapi.model.dto.responsebody.PropertyResponseDTO(p.id, p.description, o.email, m.email, COUNT(b)) FROM Property p LEFT JOIN p.owner o LEFT JOIN p.manager m LEFT JOIN p.bookings b ON b.status = 'ACTIVE' WHERE p.id IN :ids GROUP BY p.id, p.description, o.email, m.email ORDER BY p.id")
+	List<PropertyResponseDTO> findPropertyResponsesByIds(@Param("ids") Collection<Long> ids);
+
+	@Query(value = "SELECT new com.bookingapi.bookingapi.model.dto.responsebody.PropertyResponseDTO(p.id, p.description, o.email, m.email, COUNT(b)) FROM Property p LEFT JOIN p.owner o LEFT JOIN p.manager m LEFT JOIN p.bookings b ON b.status = 'ACTIVE' WHERE p.id > :after AND NOT EXISTS (SELECT 1 FROM Booking x WHERE x.property = p AND x.status IN ('ACTIVE','BLOCKED') AND x.startDate < :endDate AND x.endDate > :startDate) GROUP BY p.id, p.description, o.email, m.email ORDER BY p.id")
+	List<PropertyResponseDTO> findAvailablePropertyResponsesAfter(@Param("after") Long after,
+			@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate, Pageable pageable);
+
 }
@@ -1,20 +1,56 @@
 package com.bookingapi.bookingapi.service;
 
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.CollectionUtils;
 
+import com.bookingapi.bookingapi.config.CacheConfig;
 import com.bookingapi.bookingapi.enumerator.BookingStatus;
 import com.bookingapi.bookingapi.exception.BusinessException;
 import com.bookingapi.bookingapi.model.dto.requestbody.BlockDTO;
+import com.bookingapi.bookingapi.model.dto.requestbody.BulkBlockDTO;
 import com.bookingapi.bookingapi.model.dto.requestbody.CreateBookingDTO;
 import com.bookingapi.bookingapi.model.dto.requestbody.RebookingCanceledDTO;
 import com.bookingapi.bookingapi.model.dto.requestbody.UpdateBookingDTO;
+import com.bookingapi.bookingapi.model.dto.responsebody.BookingBatchResultDTO;
+import com.bookingapi.bookingapi.model.dto.responsebody.BookingManifestDTO;
 import com.bookingapi.bookingapi.model.dto.responsebody.BookingResponseDTO;
+import com.bookingapi.bookingapi.model.dto.responsebody.BookingSummaryDTO;
+import com.bookingapi.bookingapi.model.dto.responsebody.PropertyManifestDTO;
 import com.bookingapi.bookingapi.model.entity.Booking;
+import com.bookingapi.bookingapi.model.entity.BookingArchive;
 import com.bookingapi.bookingapi.model.entity.Property;
 import com.bookingapi.bookingapi.model.entity.User;
+import com.bookingapi.bookingapi.repository.BookingArchiveRepository;
+import com.bookingapi.bookingapi.repository.BookingCursor;
+import com.bookingapi.bookingapi.repository.BookingListingFilter;
 import com.bookingapi.bookingapi.repository.BookingRepository;
+import com.bookingapi.bookingapi.service.availability.BatchAvailability;
+import com.bookingapi.bookingapi.service.lock.PropertyWriteLock;
 import com.bookingapi.bookingapi.service.validator.BookingValidatorService;
 
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 
@@ -22,104 +58,292 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 public class BookingService {
 
+	public static final int MAX_BATCH_SIZE = 1000;
+	public static final String METRIC_CANCELED_BOOKINGS_DELETED = "booking.canceled.deleted";
+	private static final String MSG_BOOKING_NOT_FOUND = "Booking not found";
+	private static final String MSG_INVALID_BULK_BLOCK_SIZE = "The bulk block must have between 1 and %d properties";
+	private static final String MSG_INVALID_BATCH_SIZE = "The batch must have between 1 and %d bookings";
+	private static final String MSG_INVALID_PAGE_LIMIT = "The limit must be between 1 and %d";
+
 	private final BookingRepository repository;
+	private final BookingArchiveRepository archiveRepository;
 	private final PropertyService propertyService;
 	private final UserService userService;
 
 	private final BookingValidatorService bookingValidator;
+	private final PropertyWriteLock propertyLock;
+	private final CacheManager cacheManager;
+	private final MeterRegistry meterRegistry;
 
+	@Transactional
+	@Timed(value = "booking.create", description = "Booking creation, property lock wait included")
 	public BookingResponseDTO createBooking(CreateBookingDTO bookingDTO) throws BusinessException {
+		propertyLock.lock(bookingDTO.propertyId());
 		final User user = userService.findUserById(bookingDTO.userId());
 		final Property property = propertyService.findById(bookingDTO.propertyId());
 		bookingValidator.validateUserInformedIsTypeGuest(user);
 		bookingValidator.validateBookingPersistence(null, bookingDTO.startDate(), bookingDTO.endDate(),
 				property.getId());
 		final Booking booking = buildBookingEntityFromDTO(bookingDTO, user, property);
+		evictManifests(bookingDTO.startDate(), bookingDTO.endDate());
 		return buildBookingResponse(repository.save(booking));
 	}
 
+	@Transactional
+	public List<BookingBatchResultDTO> createBookings(List<CreateBookingDTO> bookingDTOs) {
+		validateBatchSize(bookingDTOs);
+		propertyLock.lockAll(idsOf(bookingDTOs, CreateBookingDTO::propertyId));
+		final Map<Long, User> users = userService.findUsersByIds(idsOf(bookingDTOs, CreateBookingDTO::userId));
+		final Map<Long, Property> properties = propertyService
+				.findPropertiesByIds(idsOf(bookingDTOs, CreateBookingDTO::propertyId));
+		final BatchAvailability availability = bookingValidator.loadBatchAvailability(bookingDTOs);
+		final BookingBatchResultDTO[] results = new BookingBatchResultDTO[bookingDTOs.size()];
+		final Map<Integer, Booking> acceptedBookings = new LinkedHashMap<>();
+		for (int index = 0; index < bookingDTOs.size(); index++) {
+			try {
+				acceptedBookings.put(index, buildBatchBooking(bookingDTOs.get(index), users, properties, availability));
+			} catch (BusinessException e) {
+				results[index] = buildBatchRejection(index, e.getHttpStatus(), e.getMessage());
+			} catch (EntityNotFoundException e) {
+				results[index] = buildBatchRejection(index, HttpStatus.NOT_FOUND, e.getMessage());
+			}
+		}
+		repository.saveAll(acceptedBookings.values());
+		acceptedBookings.values().forEach(booking -> evictManifests(booking.getStartDate(), booking.getEndDate()));
+		acceptedBookings.forEach((index, booking) -> results[index] = BookingBatchResultDTO.builder().index(index)
+				.status(HttpStatus.CREATED.value()).booking(buildBookingResponse(booking)).build());
+		return Arrays.asList(results);
+	}
+
+	@Transactional
+	@CacheEvict(cacheNames = CacheConfig.BOOKING_RESPONSES, key = "#id")
 	public void delete(Long id, Long userId) {
-		final Booking bookingToBeDeleted = findBookingById(id);
+		final Booking bookingToBeDeleted = findBookingWithProperty(id);
 		bookingValidator.validateUserCanUpdateBooking(userId, bookingToBeDeleted);
+		evictManifests(bookingToBeDeleted.getStartDate(), bookingToBeDeleted.getEndDate());
 		repository.delete(bookingToBeDeleted);
 	}
 
+	@Transactional
+	@CacheEvict(cacheNames = CacheConfig.BOOKING_RESPONSES, key = "#id")
 	public BookingResponseDTO update(Long id, UpdateBookingDTO bookingDTO) {
-		final Booking booking = findBookingById(id);
+		final Booking booking = findBookingWithPropertyAndUser(id);
 		final User user = userService.findUserById(bookingDTO.userId());
 		final Property prop = booking.getProperty();
+		propertyLock.lock(prop.getId());
 		bookingValidator.validateUserCanUpdateBooking(bookingDTO.userId(), booking);
 		bookingValidator.validateBookingPersistence(id, bookingDTO.startDate(), bookingDTO.endDate(), prop.getId());
 		return updateBooking(bookingDTO, booking, user);
 	}
 
+	@Transactional
 	public BookingResponseDTO createBlock(BlockDTO blockDTO) {
+		propertyLock.lock(blockDTO.propertyId());
 		final User user = userService.findUserById(blockDTO.userId());
 		final Property property = propertyService.findById(blockDTO.propertyId());
-		bookingValidator.validateBookingDates(blockDTO.startDate(), blockDTO.endDate());
-		bookingValidator.validateUserHasPermissionToBlock(user, property);
-		bookingValidator.validatePropertyHasActiveOrBlockedBookings(blockDTO);
-		bookingValidator.verifyPropertyHasCanceledBookings(blockDTO);
+		final List<Long> canceledIds = bookingValidator.validateBlock(user, List.of(property), blockDTO.startDate(),
+				blockDTO.endDate(), null);
+		deleteCanceledBookings(List.of(property.getId()), blockDTO.startDate(), blockDTO.endDate(), canceledIds);
 		Booking block = buildBookingFromBlockDTO(blockDTO, user, property);
 		return buildBookingResponse(repository.save(block));
 
 	}
 
+	@Transactional
+	public List<BookingResponseDTO> createBlocks(BulkBlockDTO bulkBlockDTO) {
+		final Set<Long> propertyIds = new LinkedHashSet<>(bulkBlockDTO.propertyIds());
+		if (propertyIds.size() > MAX_BATCH_SIZE) {
+			throw new BusinessException(String.format(MSG_INVALID_BULK_BLOCK_SIZE, MAX_BATCH_SIZE));
+		}
+		propertyLock.lockAll(propertyIds);
+		final User user = userService.findUserById(bulkBlockDTO.userId());
+		final Map<Long, Property> properties = propertyService.findPropertiesByIds(propertyIds);
+		if (properties.size() < propertyIds.size()) {
+			throw new EntityNotFoundException(PropertyService.MSG_PROPERTY_NOT_FOUND);
+		}
+		final List<Long> canceledIds = bookingValidator.validateBlock(user, properties.values(),
+				bulkBlockDTO.startDate(), bulkBlockDTO.endDate(), null);
+		deleteCanceledBookings(propertyIds, bulkBlockDTO.startDate(), bulkBlockDTO.endDate(), canceledIds);
+		final List<Booking> blocks = propertyIds.stream()
+				.map(propertyId -> Booking.builder().startDate(bulkBlockDTO.startDate())
+						.endDate(bulkBlockDTO.endDate()).status(BookingStatus.BLOCKED).user(user)
+						.property(properties.get(propertyId)).details(bulkBlockDTO.details()).build())
+				.toList();
+		return repository.saveAll(blocks).stream().map(this::buildBookingResponse).toList();
+	}
+
+	@Transactional
+	@CacheEvict(cacheNames = CacheConfig.BOOKING_RESPONSES, key = "#bookingId")
 	public BookingResponseDTO updateBlock(Long bookingId, BlockDTO blockDTO) {
-		final Booking booking = findBookingById(bookingId);
+		final Booking booking = findBookingWithPropertyAndUser(bookingId);
 		final Property property = booking.getProperty();
 		final User user = userService.findUserById(blockDTO.userId());
-		bookingValidator.validateUserHasPermissionToBlock(user, property);
-		bookingValidator.validatePropertyHasActiveOrBlockedBookings(blockDTO);
-		bookingValidator.verifyPropertyHasCanceledBookings(blockDTO);
+		propertyLock.lock(property.getId());
+		// the block may keep part of its dates: it doesn't conflict with itself
+		final List<Long> canceledIds = bookingValidator.validateBlock(user, List.of(property), blockDTO.startDate(),
+				blockDTO.endDate(), bookingId);
+		deleteCanceledBookings(List.of(property.getId()), blockDTO.startDate(), blockDTO.endDate(), canceledIds);
 		booking.setDetails(blockDTO.details());
 		booking.setStartDate(blockDTO.startDate());
 		booking.setEndDate(blockDTO.endDate());
 		return buildBookingResponse(repository.save(booking));
 	}
 
+	@Transactional
+	@CacheEvict(cacheNames = CacheConfig.BOOKING_RESPONSES, key = "#bookingId")
 	public void deleteBlock(Long bookingId, Long userId) {
-		final Booking booking = findBookingById(bookingId);
+		final Booking booking = findBookingWithProperty(bookingId);
 		final User user = userService.findUserById(userId);
 		bookingValidator.validateUserHasPermissionToBlock(user, booking.getProperty());
 		bookingValidator.validateBookingIsBlocked(booking);
 		repository.delete(booking);
 	}
 
+	@Transactional(readOnly = true)
+	@Cacheable(cacheNames = CacheConfig.BOOKING_RESPONSES, sync = true)
 	public BookingResponseDTO findBookingResponseDTOById(Long id) {
-		Booking booking = findBookingById(id);
-		return buildBookingResponse(booking);
+		// archived bookings are still readable, but no longer updatable
+		return repository.findWithPropertyAndUserById(id).map(this::buildBookingResponse)
+				.or(() -> archiveRepository.findWithPropertyAndUserById(id).map(this::buildBookingResponse))
+				.orElseThrow(() -> new EntityNotFoundException(MSG_BOOKING_NOT_FOUND));
+	}
+
+	@Transactional(readOnly = true)
+	public List<BookingSummaryDTO> findBookings(BookingListingFilter filter, String after, int limit) {
+		if (limit < 1 || limit > PropertyService.MAX_PAGE_LIMIT) {
+			throw new BusinessException(String.format(MSG_INVALID_PAGE_LIMIT, PropertyService.MAX_PAGE_LIMIT));
+		}
+		return repository.findSummaries(filter, after == null ? null : BookingCursor.parse(after), limit);
+	}
+
+	/**
+	 * ACTIVE bookings starting and ending on {@code date}, grouped by property.
+	 * Cached per date; the writes of a booking evict the dates it starts and ends
+	 * on, before and after the change, once they commit.
+	 */
+	@Transactional(readOnly = true)
+	@Cacheable(cacheNames = CacheConfig.MANIFESTS, sync = true)
+	public BookingManifestDTO findManifest(LocalDate date) {
+		final List<Booking> arrivals = repository.findArrivals(date, BookingStatus.ACTIVE);
+		final List<Booking> departures = repository.findDepartures(date, BookingStatus.ACTIVE);
+		final Map<Long, Property> properties = new TreeMap<>();
+		Stream.concat(arrivals.stream(), departures.stream()).map(Booking::getProperty)
+				.forEach(property -> properties.putIfAbsent(property.getId(), property));
+		final Map<Long, List<Booking>> arrivalsByProperty = groupByProperty(arrivals);
+		final Map<Long, List<Booking>> departuresByProperty = groupByProperty(departures);
+		return BookingManifestDTO.builder().date(date).properties(properties.values().stream()
+				.map(property -> PropertyManifestDTO.builder().propertyId(property.getId())
+						.propertyDescription(property.getDescription())
+						.arrivals(buildBookingResponses(arrivalsByProperty.get(property.getId())))
+						.departures(buildBookingResponses(departuresByProperty.get(property.getId()))).build())
+				.toList()).build();
 	}
 
+	@Transactional(readOnly = true)
 	public Booking findBookingById(Long id) {
-		return repository.findById(id).orElseThrow(() -> new EntityNotFoundException("Booking not found"));
+		return repository.findById(id).orElseThrow(() -> new EntityNotFoundException(MSG_BOOKING_NOT_FOUND));
+	}
+
+	private Booking findBookingWithPropertyAndUser(Long id) {
+		return repository.findWithPropertyAndUserById(id)
+				.orElseThrow(() -> new EntityNotFoundException(MSG_BOOKING_NOT_FOUND));
+	}
+
+	private Booking findBookingWithProperty(Long id) {
+		return repository.findWithPropertyById(id).orElseThrow(() -> new EntityNotFoundException(MSG_BOOKING_NOT_FOUND));
 	}
 
+	@Transactional
+	@CacheEvict(cacheNames = CacheConfig.BOOKING_RESPONSES, key = "#bookingId")
 	public BookingResponseDTO cancelBooking(Long bookingId, Long userId) {
-		Booking booking = findBookingById(bookingId);
+		Booking booking = findBookingWithPropertyAndUser(bookingId);
 		bookingValidator.validateUserCanUpdateBooking(userId, booking);
 		bookingValidator.validateBookingIsAlreadyCanceled(booking);
+		evictManifests(booking.getStartDate(), booking.getEndDate());
 		booking.setStatus(BookingStatus.CANCELED);
 		return buildBookingResponse(repository.save(booking));
 
 	}
 
+	@Transactional
+	@CacheEvict(cacheNames = CacheConfig.BOOKING_RESPONSES, key = "#bookingId")
 	public BookingResponseDTO rebookCanceledBooking(Long bookingId, RebookingCanceledDTO payload) {
-		Booking booking = findBookingById(bookingId);
+		Booking booking = findBookingWithPropertyAndUser(bookingId);
 		bookingValidator.validateBookingMustBeCanceledToRebook(booking);
 		bookingValidator.validateUserCanUpdateBooking(payload.userId(), booking);
+		propertyLock.lock(booking.getProperty().getId());
 		bookingValidator.validateBookingPersistence(bookingId, payload.startDate(), payload.endDate(),
 				booking.getProperty().getId());
 		return rebookCanceledBooking(payload, booking);
 
 	}
 
+	private int deleteCanceledBookings(Collection<Long> propertyIds, LocalDate startDate, LocalDate endDate,
+			List<Long> canceledBookingIds) {
+		// the block replaces the canceled bookings of its dates; the validation read already found them
+		if (canceledBookingIds.isEmpty()) {
+			return 0;
+		}
+		int deleted = repository.deleteFromPropertiesBetweenDates(propertyIds, startDate, endDate,
+				BookingStatus.CANCELED);
+		meterRegistry.counter(METRIC_CANCELED_BOOKINGS_DELETED).increment(deleted);
+		Optional.ofNullable(cacheManager.getCache(CacheConfig.BOOKING_RESPONSES)).ifPresent(bookingResponses -> {
+			if (deleted == canceledBookingIds.size()) {
+				canceledBookingIds.forEach(bookingResponses::evict);
+			} else {
+				// the delete removed other rows than the ones read, so no cached response may outlive them
+				bookingResponses.clear();
+			}
+		});
+		return deleted;
+	}
+
+	private void evictManifests(LocalDate... dates) {
+		// deferred to the commit by the transaction-aware cache
+		Cache manifests = cacheManager.getCache(CacheConfig.MANIFESTS);
+		if (manifests != null) {
+			Arrays.stream(dates).filter(Objects::nonNull).distinct().forEach(manifests::evict);
+		}
+	}
+
+	private static Map<Long, List<Booking>> groupByProperty(List<Booking> bookings) {
+		return bookings.stream().collect(Collectors.groupingBy(booking -> booking.getProperty().getId()));
+	}
+
+	private void validateBatchSize(List<CreateBookingDTO> bookingDTOs) {
+		if (CollectionUtils.isEmpty(bookingDTOs) || bookingDTOs.size() > MAX_BATCH_SIZE) {
+			throw new BusinessException(String.format(MSG_INVALID_BATCH_SIZE, MAX_BATCH_SIZE));
+		}
+	}
+
+	private static Set<Long> idsOf(List<CreateBookingDTO> bookingDTOs, Function<CreateBookingDTO, Long> idGetter) {
+		return bookingDTOs.stream().map(idGetter).filter(Objects::nonNull).collect(Collectors.toSet());
+	}
+
+	private Booking buildBatchBooking(CreateBookingDTO bookingDTO, Map<Long, User> users,
+			Map<Long, Property> properties, BatchAvailability availability) {
+		bookingValidator.validateCreateBookingPayload(bookingDTO);
+		final User user = Optional.ofNullable(users.get(bookingDTO.userId()))
+				.orElseThrow(() -> new EntityNotFoundException(UserService.MSG_USER_NOT_FOUND));
+		final Property property = Optional.ofNullable(properties.get(bookingDTO.propertyId()))
+				.orElseThrow(() -> new EntityNotFoundException(PropertyService.MSG_PROPERTY_NOT_FOUND));
+		bookingValidator.validateUserInformedIsTypeGuest(user);
+		bookingValidator.validateBatchAvailability(availability, bookingDTO);
+		availability.reserve(property.getId(), bookingDTO.startDate(), bookingDTO.endDate());
+		return buildBookingEntityFromDTO(bookingDTO, user, property);
+	}
+
+	private BookingBatchResultDTO buildBatchRejection(int index, HttpStatus status, String message) {
+		return BookingBatchResultDTO.builder().index(index).status(status.value()).message(message).build();
+	}
+
 	private Booking buildBookingEntityFromDTO(CreateBookingDTO bookingDTO, final User user, final Property property) {
 		return Booking.builder().startDate(bookingDTO.startDate()).endDate(bookingDTO.endDate())
 				.status(BookingStatus.ACTIVE).property(property).user(user).details(bookingDTO.details()).build();
 	}
 
 	private BookingResponseDTO updateBooking(UpdateBookingDTO bookingDTO, final Booking booking, final User user) {
+		evictManifests(booking.getStartDate(), booking.getEndDate(), bookingDTO.startDate(), bookingDTO.endDate());
 		booking.setUser(user);
 		booking.setStartDate(bookingDTO.startDate());
 		booking.setEndDate(bookingDTO.endDate());
@@ -133,6 +357,7 @@ public class BookingService {
 	}
 
 	private BookingResponseDTO rebookCanceledBooking(RebookingCanceledDTO payload, Booking booking) {
+		evictManifests(payload.startDate(), payload.endDate());
 		booking.setStartDate(payload.startDate());
 		booking.setEndDate(payload.endDate());
 		booking.setStatus(BookingStatus.ACTIVE);
@@ -146,4 +371,14 @@ public class BookingService {
 				.propertyDescription(booking.getProperty().getDescription()).status(booking.getStatus()).build();
 	}
 
+	private List<BookingResponseDTO> buildBookingResponses(List<Booking> bookings) {
+		return bookings == null ? List.of() : bookings.stream().map(this::buildBookingResponse).toList();
+	}
+
+	private BookingResponseDTO buildBookingResponse(BookingArchive booking) {
+		return BookingResponseDTO.builder().id(booking.getId()).startDate(booking.getStartDate())
+				.endDate(booking.getEndDate()).emailUser(booking.getUser().getEmail()).details(booking.getDetails())
+				.propertyDescription(booking.getProperty().getDescription()).status(booking.getStatus()).build();
+	}
+
 }
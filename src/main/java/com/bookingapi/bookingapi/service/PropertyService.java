@@ -1,17 +1,36 @@
 package com.bookingapi.bookingapi.service;
 
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.CollectionUtils;
 
+import com.bookingapi.bookingapi.config.CacheConfig;
 import com.bookingapi.bookingapi.enumerator.BookingStatus;
+import com.bookingapi.bookingapi.exception.BusinessException;
 import com.bookingapi.bookingapi.model.dto.requestbody.PropertyDTO;
+import com.bookingapi.bookingapi.model.dto.responsebody.DateRangeDTO;
+import com.bookingapi.bookingapi.model.dto.responsebody.PropertyAvailabilityResponseDTO;
 import com.bookingapi.bookingapi.model.dto.responsebody.PropertyResponseDTO;
 import com.bookingapi.bookingapi.model.entity.Property;
 import com.bookingapi.bookingapi.model.entity.User;
 import com.bookingapi.bookingapi.repository.PropertyRepository;
+import com.bookingapi.bookingapi.service.availability.DayRange;
+import com.bookingapi.bookingapi.service.availability.PropertyAvailabilityIndex;
 
+import io.micrometer.core.annotation.Timed;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 
@@ -19,9 +38,19 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 public class PropertyService {
 
+	public static final int MAX_PAGE_LIMIT = 1000;
+	public static final String MSG_PROPERTY_NOT_FOUND = "Property not found";
+	public static final int DEFAULT_AVAILABILITY_DAYS = 365;
+	public static final int MAX_AVAILABILITY_DAYS = 731;
+	static final int AVAILABILITY_SEARCH_WINDOW = 1_024;
+	private static final String MSG_INVALID_PAGE_LIMIT = "The limit must be between 1 and %d";
+	private static final String MSG_INVALID_AVAILABILITY_RANGE = "The end date must be after the start date and at most %d days later";
+
 	private final PropertyRepository repository;
 	private final UserService userService;
+	private final PropertyAvailabilityIndex availabilityIndex;
 
+	@Transactional
 	public PropertyResponseDTO create(PropertyDTO propertyDTO) {
 		User manager = userService.findUserById(propertyDTO.managerId());
 		User owner = userService.findUserById(propertyDTO.ownerId());
@@ -32,9 +61,82 @@ public class PropertyService {
 		return buildPropertyResponseDTO(repository.save(prop));
 	}
 
-	public List<PropertyResponseDTO> findAll() {
-		List<Property> properties = repository.findAll();
-		return properties.stream().map(this::buildPropertyResponseDTO).toList();
+	@Transactional(readOnly = true)
+	public List<PropertyResponseDTO> findAll(Long after, int limit) {
+		validatePageLimit(limit);
+		return repository.findPropertyResponsesAfter(after == null ? 0L : after, PageRequest.ofSize(limit));
+	}
+
+	@Transactional(readOnly = true)
+	public void streamAll(Long after, Consumer<PropertyResponseDTO> consumer) {
+		try (Stream<PropertyResponseDTO> properties = repository
+				.streamPropertyResponsesAfter(after == null ? 0L : after)) {
+			properties.forEach(consumer);
+		}
+	}
+
+	@Transactional(readOnly = true)
+	public List<PropertyResponseDTO> findAvailable(LocalDate startDate, LocalDate endDate, Long after, int limit) {
+		validatePageLimit(limit);
+		validateAvailabilityRange(startDate, endDate);
+		long afterId = after == null ? 0L : after;
+		if (!availabilityIndex.isEnabled()) {
+			return repository.findAvailablePropertyResponsesAfter(afterId, startDate, endDate,
+					PageRequest.ofSize(limit));
+		}
+		// the candidates are read and loaded one window at a time, so a page only pays for the windows it needs
+		List<Long> available = new ArrayList<>(limit);
+		int window = Math.max(limit * 2, AVAILABILITY_SEARCH_WINDOW);
+		List<Long> candidates;
+		do {
+			candidates = repository.findIdsAfter(afterId, PageRequest.ofSize(window));
+			if (candidates.isEmpty()) {
+				break;
+			}
+			available.addAll(availabilityIndex.findAvailableProperties(candidates, startDate, endDate,
+					limit - available.size()));
+			afterId = candidates.get(candidates.size() - 1);
+		} while (candidates.size() == window && available.size() < limit);
+		return available.isEmpty() ? List.of() : repository.findPropertyResponsesByIds(available);
+	}
+
+	// no transaction: a loaded property is answered by the index without borrowing a connection
+	public PropertyAvailabilityResponseDTO findAvailability(Long id, LocalDate from, LocalDate to) {
+		LocalDate start = from == null ? LocalDate.now() : from;
+		LocalDate end = to == null ? start.plusDays(DEFAULT_AVAILABILITY_DAYS) : to;
+		validateAvailabilityRange(start, end);
+		// a property held by the index has already been looked up
+		if (!availabilityIndex.isLoaded(id) && !repository.existsById(id)) {
+			throw new EntityNotFoundException(MSG_PROPERTY_NOT_FOUND);
+		}
+		List<DateRangeDTO> free = new ArrayList<>();
+		List<DateRangeDTO> occupied = new ArrayList<>();
+		LocalDate freeFrom = start;
+		for (DayRange range : availabilityIndex.findOccupiedRanges(id, start, end)) {
+			if (freeFrom.isBefore(range.start())) {
+				free.add(new DateRangeDTO(freeFrom, range.start()));
+			}
+			occupied.add(new DateRangeDTO(range.start(), range.end()));
+			freeFrom = range.end();
+		}
+		if (freeFrom.isBefore(end)) {
+			free.add(new DateRangeDTO(freeFrom, end));
+		}
+		return PropertyAvailabilityResponseDTO.builder().propertyId(id).from(start).to(end).free(free)
+				.occupied(occupied).build();
+	}
+
+	private void validateAvailabilityRange(LocalDate startDate, LocalDate endDate) {
+		long days = ChronoUnit.DAYS.between(startDate, endDate);
+		if (days < 1 || days > MAX_AVAILABILITY_DAYS) {
+			throw new BusinessException(String.format(MSG_INVALID_AVAILABILITY_RANGE, MAX_AVAILABILITY_DAYS));
+		}
+	}
+
+	private void validatePageLimit(int limit) {
+		if (limit < 1 || limit > MAX_PAGE_LIMIT) {
+			throw new BusinessException(String.format(MSG_INVALID_PAGE_LIMIT, MAX_PAGE_LIMIT));
+		}
 	}
 
 	private PropertyResponseDTO buildPropertyResponseDTO(Property prop) {
@@ -48,7 +150,16 @@ public class PropertyService {
 				: property.getBookings().stream().filter(prop -> status.equals(prop.getStatus())).count();
 	}
 
+	@Transactional(readOnly = true)
+	@Cacheable(CacheConfig.PROPERTIES)
+	@Timed(value = "booking.lookup", description = "User and property loads on a cache miss")
 	public Property findById(Long id) {
-		return repository.findById(id).orElseThrow(() -> new EntityNotFoundException("Property not found"));
+		return repository.findById(id).orElseThrow(() -> new EntityNotFoundException(MSG_PROPERTY_NOT_FOUND));
+	}
+
+	@Transactional(readOnly = true)
+	public Map<Long, Property> findPropertiesByIds(Collection<Long> ids) {
+		return repository.findAllById(ids).stream()
+				.collect(Collectors.toMap(Property::getId, Function.identity()));
 	}
 }
@@ -1,14 +1,22 @@
 package com.bookingapi.bookingapi.service;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.bookingapi.bookingapi.config.CacheConfig;
 import com.bookingapi.bookingapi.model.dto.requestbody.UserDTO;
 import com.bookingapi.bookingapi.model.dto.responsebody.UserResponseDTO;
 import com.bookingapi.bookingapi.model.entity.User;
 import com.bookingapi.bookingapi.repository.UserRepository;
 
+import io.micrometer.core.annotation.Timed;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 
@@ -16,13 +24,17 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 public class UserService {
 
+	public static final String MSG_USER_NOT_FOUND = "User not found";
+
 	private final UserRepository repository;
 
+	@Transactional(readOnly = true)
 	public List<UserResponseDTO> findAllUsers() {
 		List<User> allUsers = repository.findAll();
 		return allUsers.stream().map(this::buildUserResponseDTO).toList();
 	}
 
+	@Transactional
 	public UserResponseDTO createUser(UserDTO user) {
 		User userEntity = User.builder().email(user.email()).userType(user.userType()).build();
 		return buildUserResponseDTO(repository.save(userEntity));
@@ -33,10 +45,19 @@ public class UserService {
 				.userType(userEntity.getUserType()).build();
 	}
 
+	@Transactional(readOnly = true)
+	@Cacheable(CacheConfig.USERS)
+	@Timed(value = "booking.lookup", description = "User and property loads on a cache miss")
 	public User findUserById(Long id) {
-		return repository.findById(id).orElseThrow(() -> new EntityNotFoundException("User not found"));
+		return repository.findById(id).orElseThrow(() -> new EntityNotFoundException(MSG_USER_NOT_FOUND));
+	}
+
+	@Transactional(readOnly = true)
+	public Map<Long, User> findUsersByIds(Collection<Long> ids) {
+		return repository.findAllById(ids).stream().collect(Collectors.toMap(User::getId, Function.identity()));
 	}
 
+	@Transactional(readOnly = true)
 	public UserResponseDTO findUserDTOById(Long id) {
 		return buildUserResponseDTO(findUserById(id));
 	}
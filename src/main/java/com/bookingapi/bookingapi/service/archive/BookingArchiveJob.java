@@ -0,0 +1,115 @@
+package com.bookingapi.bookingapi.service.archive;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.Assert;
+
+import com.bookingapi.bookingapi.config.CacheConfig;
+import com.bookingapi.bookingapi.model.projection.PropertyBookingInterval;
+import com.bookingapi.bookingapi.repository.BookingArchiveRepository;
+import com.bookingapi.bookingapi.repository.BookingRepository;
+import com.bookingapi.bookingapi.service.availability.PropertyAvailabilityIndex;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Moves the bookings that ended before the horizon to {@code booking_archive},
+ * one chunk per transaction, so the overlap queries only scan recent and future
+ * bookings. Set {@code booking.archive.cron} to {@code -} to disable it.
+ */
+@Component
+public class BookingArchiveJob {
+
+	public static final String METRIC_BOOKINGS_ARCHIVED = "booking.archived";
+
+	private final BookingRepository bookingRepository;
+	private final BookingArchiveRepository archiveRepository;
+	private final PropertyAvailabilityIndex availabilityIndex;
+	private final CacheManager cacheManager;
+	private final TransactionTemplate transactionTemplate;
+	private final MeterRegistry meterRegistry;
+	private final int horizonDays;
+	private final int chunkSize;
+
+	private record Chunk(int read, int archived) {
+	}
+
+	public BookingArchiveJob(BookingRepository bookingRepository, BookingArchiveRepository archiveRepository,
+			PropertyAvailabilityIndex availabilityIndex, CacheManager cacheManager,
+			PlatformTransactionManager transactionManager, MeterRegistry meterRegistry, @Value("${booking.archive.horizon-days:90}") int horizonDays,
+			@Value("${booking.archive.chunk-size:500}") int chunkSize) {
+		this.bookingRepository = bookingRepository;
+		this.archiveRepository = archiveRepository;
+		this.availabilityIndex = availabilityIndex;
+		this.cacheManager = cacheManager;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.meterRegistry = meterRegistry;
+		this.horizonDays = horizonDays;
+		this.chunkSize = chunkSize;
+	}
+
+	@Scheduled(cron = "${booking.archive.cron:0 0 3 * * *}")
+	public void archivePastBookings() {
+		archiveEndedBefore(LocalDate.now().minusDays(horizonDays));
+	}
+
+	/**
+	 * Archives every booking ending before {@code horizon} and returns how many were
+	 * moved.
+	 */
+	public int archiveEndedBefore(LocalDate horizon) {
+		int archived = 0;
+		Chunk chunk;
+		do {
+			chunk = transactionTemplate.execute(status -> archiveChunk(horizon));
+			archived += chunk.archived();
+		} while (chunk.read() == chunkSize && chunk.archived() > 0);
+		return archived;
+	}
+
+	private Chunk archiveChunk(LocalDate horizon) {
+		List<PropertyBookingInterval> bookings = bookingRepository.findIntervalsEndingBefore(horizon,
+				PageRequest.ofSize(chunkSize));
+		if (bookings.isEmpty()) {
+			return new Chunk(0, 0);
+		}
+		List<Long> ids = bookings.stream().map(PropertyBookingInterval::id).toList();
+		// the horizon is checked again: a booking moved to later dates since it was read stays where it is
+		int archived = archiveRepository.archive(ids, horizon);
+		int deleted = bookingRepository.deleteEndedBefore(ids, horizon);
+		Assert.state(archived == deleted, "The bookings archived and deleted must be the same");
+		meterRegistry.counter(METRIC_BOOKINGS_ARCHIVED).increment(deleted);
+		// the bulk delete bypasses the entity listener and the service: the properties are reloaded
+		// on their next lookup and the manifests of the dates touched are rebuilt
+		Set<Long> propertyIds = bookings.stream().map(PropertyBookingInterval::propertyId).collect(Collectors.toSet());
+		Set<LocalDate> dates = bookings.stream()
+				.flatMap(booking -> Stream.of(booking.startDate(), booking.endDate())).collect(Collectors.toSet());
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCommit() {
+				propertyIds.forEach(availabilityIndex::invalidate);
+				// evictIfPresent is immediate; a plain evict would wait for a commit that already happened
+				Cache manifests = cacheManager.getCache(CacheConfig.MANIFESTS);
+				if (manifests != null) {
+					dates.forEach(manifests::evictIfPresent);
+				}
+			}
+		});
+		return new Chunk(bookings.size(), deleted);
+	}
+
+}
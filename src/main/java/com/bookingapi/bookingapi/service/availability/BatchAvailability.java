@@ -0,0 +1,44 @@
+package com.bookingapi.bookingapi.service.availability;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.bookingapi.bookingapi.enumerator.BookingStatus;
+import com.bookingapi.bookingapi.model.projection.BookingInterval;
+import com.bookingapi.bookingapi.service.availability.IntervalTree.Interval;
+
+/**
+ * Availability of the properties touched by a batch of bookings: the intervals
+ * already stored in the database plus the ones reserved by earlier items of the
+ * same batch. Lives for a single request, not thread-safe.
+ */
+public class BatchAvailability {
+
+	private final Map<Long, IntervalTree> treesByProperty = new HashMap<>();
+	private long nextReservationId = -1;
+
+	public void load(Long propertyId, List<BookingInterval> intervals) {
+		IntervalTree tree = treeOf(propertyId);
+		for (BookingInterval interval : intervals) {
+			tree.upsert(new Interval(interval.id(), interval.startDate().toEpochDay(),
+					interval.endDate().toEpochDay(), interval.status()));
+		}
+	}
+
+	public boolean hasOverlap(Long propertyId, LocalDate startDate, LocalDate endDate) {
+		return treeOf(propertyId).anyOverlap(startDate.toEpochDay(), endDate.toEpochDay(), null);
+	}
+
+	public void reserve(Long propertyId, LocalDate startDate, LocalDate endDate) {
+		// batch items have no id yet, negative ids never collide with stored bookings
+		treeOf(propertyId).upsert(new Interval(nextReservationId--, startDate.toEpochDay(), endDate.toEpochDay(),
+				BookingStatus.ACTIVE));
+	}
+
+	private IntervalTree treeOf(Long propertyId) {
+		return treesByProperty.computeIfAbsent(propertyId, id -> new IntervalTree());
+	}
+
+}
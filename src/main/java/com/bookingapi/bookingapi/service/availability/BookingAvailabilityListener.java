@@ -0,0 +1,34 @@
+package com.bookingapi.bookingapi.service.availability;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import com.bookingapi.bookingapi.model.entity.Booking;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+
+@Component
+public class BookingAvailabilityListener {
+
+	// resolved lazily: the listener is instantiated while the EntityManagerFactory
+	// that the index repository depends on is still being built
+	private final ObjectProvider<PropertyAvailabilityIndex> availabilityIndex;
+
+	public BookingAvailabilityListener(ObjectProvider<PropertyAvailabilityIndex> availabilityIndex) {
+		this.availabilityIndex = availabilityIndex;
+	}
+
+	@PostPersist
+	@PostUpdate
+	public void onSave(Booking booking) {
+		availabilityIndex.getObject().onBookingSaved(booking);
+	}
+
+	@PostRemove
+	public void onRemove(Booking booking) {
+		availabilityIndex.getObject().onBookingRemoved(booking);
+	}
+
+}
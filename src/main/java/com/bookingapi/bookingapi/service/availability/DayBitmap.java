@@ -0,0 +1,94 @@
+package com.bookingapi.bookingapi.service.availability;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One bit per epoch day, set when the day is occupied. Days are kept in chunks
+ * of 4096 so only the years that have bookings take memory. Ranges are
+ * half-open [from, to). Not thread-safe.
+ */
+class DayBitmap {
+
+	record Run(long start, long end) {
+	}
+
+	private static final int CHUNK_DAYS = 4096;
+
+	private final Map<Long, BitSet> chunks = new HashMap<>();
+
+	void set(long from, long to) {
+		for (long day = from; day < to;) {
+			long chunk = Math.floorDiv(day, CHUNK_DAYS);
+			long chunkStart = chunk * CHUNK_DAYS;
+			long end = Math.min(to, chunkStart + CHUNK_DAYS);
+			chunks.computeIfAbsent(chunk, c -> new BitSet(CHUNK_DAYS)).set((int) (day - chunkStart),
+					(int) (end - chunkStart));
+			day = end;
+		}
+	}
+
+	void clear(long from, long to) {
+		for (long day = from; day < to;) {
+			long chunk = Math.floorDiv(day, CHUNK_DAYS);
+			long chunkStart = chunk * CHUNK_DAYS;
+			long end = Math.min(to, chunkStart + CHUNK_DAYS);
+			BitSet bits = chunks.get(chunk);
+			if (bits != null) {
+				bits.clear((int) (day - chunkStart), (int) (end - chunkStart));
+				if (bits.isEmpty()) {
+					chunks.remove(chunk);
+				}
+			}
+			day = end;
+		}
+	}
+
+	List<Run> occupiedRuns(long from, long to) {
+		List<Run> runs = new ArrayList<>();
+		long runStart = Long.MIN_VALUE;
+		for (long day = from; day < to;) {
+			long chunk = Math.floorDiv(day, CHUNK_DAYS);
+			long chunkStart = chunk * CHUNK_DAYS;
+			long end = Math.min(to, chunkStart + CHUNK_DAYS);
+			BitSet bits = chunks.get(chunk);
+			if (bits == null) {
+				if (runStart != Long.MIN_VALUE) {
+					runs.add(new Run(runStart, day));
+					runStart = Long.MIN_VALUE;
+				}
+				day = end;
+				continue;
+			}
+			int limit = (int) (end - chunkStart);
+			int bit = (int) (day - chunkStart);
+			while (bit < limit) {
+				if (runStart == Long.MIN_VALUE) {
+					int set = bits.nextSetBit(bit);
+					if (set < 0 || set >= limit) {
+						break;
+					}
+					runStart = chunkStart + set;
+					bit = set;
+				} else {
+					int clear = bits.nextClearBit(bit);
+					if (clear >= limit) {
+						break;
+					}
+					runs.add(new Run(runStart, chunkStart + clear));
+					runStart = Long.MIN_VALUE;
+					bit = clear;
+				}
+			}
+			day = end;
+		}
+		if (runStart != Long.MIN_VALUE) {
+			runs.add(new Run(runStart, to));
+		}
+		return runs;
+	}
+
+}
@@ -0,0 +1,11 @@
+package com.bookingapi.bookingapi.service.availability;
+
+import java.time.LocalDate;
+
+/**
+ * Consecutive days [start, end): end is the first day after the range, the
+ * check-out day of a booking.
+ */
+public record DayRange(LocalDate start, LocalDate end) {
+
+}
@@ -0,0 +1,198 @@
+package com.bookingapi.bookingapi.service.availability;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.bookingapi.bookingapi.enumerator.BookingStatus;
+
+/**
+ * AVL tree of booking intervals ordered by (start, id) where every node keeps
+ * the greatest end of its subtree, so overlap lookups prune whole branches.
+ * Bounds are half-open epoch days [start, end). Not thread-safe.
+ */
+class IntervalTree {
+
+	record Interval(long id, long start, long end, BookingStatus status) {
+	}
+
+	private static final class Node {
+		private final Interval interval;
+		private long maxEnd;
+		private int height = 1;
+		private Node left;
+		private Node right;
+
+		private Node(Interval interval) {
+			this.interval = interval;
+			this.maxEnd = interval.end();
+		}
+	}
+
+	private final Map<Long, Interval> intervalsById = new HashMap<>();
+	private Node root;
+
+	int size() {
+		return intervalsById.size();
+	}
+
+	Interval get(long id) {
+		return intervalsById.get(id);
+	}
+
+	void upsert(Interval interval) {
+		remove(interval.id());
+		root = insert(root, interval);
+		intervalsById.put(interval.id(), interval);
+	}
+
+	void remove(long id) {
+		Interval existing = intervalsById.remove(id);
+		if (existing != null) {
+			root = delete(root, existing);
+		}
+	}
+
+	boolean anyOverlap(long start, long end, Long excludedId) {
+		return anyOverlap(root, start, end, excludedId);
+	}
+
+	List<Interval> findOverlapping(long start, long end) {
+		List<Interval> found = new ArrayList<>();
+		collectOverlapping(root, start, end, found);
+		return found;
+	}
+
+	static boolean overlaps(Interval interval, long start, long end) {
+		return interval.start() < end && interval.end() > start;
+	}
+
+	private static boolean anyOverlap(Node node, long start, long end, Long excludedId) {
+		while (node != null && node.maxEnd > start) {
+			if (overlaps(node.interval, start, end)
+					&& (excludedId == null || node.interval.id() != excludedId.longValue())) {
+				return true;
+			}
+			if (anyOverlap(node.left, start, end, excludedId)) {
+				return true;
+			}
+			if (node.interval.start() >= end) {
+				return false;
+			}
+			node = node.right;
+		}
+		return false;
+	}
+
+	private static void collectOverlapping(Node node, long start, long end, List<Interval> found) {
+		if (node == null || node.maxEnd <= start) {
+			return;
+		}
+		collectOverlapping(node.left, start, end, found);
+		if (overlaps(node.interval, start, end)) {
+			found.add(node.interval);
+		}
+		if (node.interval.start() < end) {
+			collectOverlapping(node.right, start, end, found);
+		}
+	}
+
+	private static int compare(Interval a, Interval b) {
+		int byStart = Long.compare(a.start(), b.start());
+		return byStart != 0 ? byStart : Long.compare(a.id(), b.id());
+	}
+
+	private static Node insert(Node node, Interval interval) {
+		if (node == null) {
+			return new Node(interval);
+		}
+		if (compare(interval, node.interval) < 0) {
+			node.left = insert(node.left, interval);
+		} else {
+			node.right = insert(node.right, interval);
+		}
+		return rebalance(node);
+	}
+
+	private static Node delete(Node node, Interval interval) {
+		if (node == null) {
+			return null;
+		}
+		int cmp = compare(interval, node.interval);
+		if (cmp < 0) {
+			node.left = delete(node.left, interval);
+		} else if (cmp > 0) {
+			node.right = delete(node.right, interval);
+		} else {
+			if (node.left == null) {
+				return node.right;
+			}
+			if (node.right == null) {
+				return node.left;
+			}
+			Node successor = node.right;
+			while (successor.left != null) {
+				successor = successor.left;
+			}
+			Node replacement = new Node(successor.interval);
+			replacement.right = delete(node.right, successor.interval);
+			replacement.left = node.left;
+			node = replacement;
+		}
+		return rebalance(node);
+	}
+
+	private static int height(Node node) {
+		return node == null ? 0 : node.height;
+	}
+
+	private static void update(Node node) {
+		node.height = 1 + Math.max(height(node.left), height(node.right));
+		long maxEnd = node.interval.end();
+		if (node.left != null) {
+			maxEnd = Math.max(maxEnd, node.left.maxEnd);
+		}
+		if (node.right != null) {
+			maxEnd = Math.max(maxEnd, node.right.maxEnd);
+		}
+		node.maxEnd = maxEnd;
+	}
+
+	private static Node rebalance(Node node) {
+		update(node);
+		int balance = height(node.left) - height(node.right);
+		if (balance > 1) {
+			if (height(node.left.left) < height(node.left.right)) {
+				node.left = rotateLeft(node.left);
+			}
+			return rotateRight(node);
+		}
+		if (balance < -1) {
+			if (height(node.right.right) < height(node.right.left)) {
+				node.right = rotateRight(node.right);
+			}
+			return rotateLeft(node);
+		}
+		return node;
+	}
+
+	private static Node rotateRight(Node node) {
+		Node pivot = node.left;
+		node.left = pivot.right;
+		pivot.right = node;
+		update(node);
+		update(pivot);
+		return pivot;
+	}
+
+	private static Node rotateLeft(Node node) {
+		Node pivot = node.right;
+		node.right = pivot.left;
+		pivot.left = node;
+		update(node);
+		update(pivot);
+		return pivot;
+	}
+
+}
@@ -0,0 +1,345 @@
+package com.bookingapi.bookingapi.service.availability;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.bookingapi.bookingapi.enumerator.BookingStatus;
+import com.bookingapi.bookingapi.model.entity.Booking;
+import com.bookingapi.bookingapi.model.projection.BookingInterval;
+import com.bookingapi.bookingapi.model.projection.PropertyBookingInterval;
+import com.bookingapi.bookingapi.repository.BookingRepository;
+import com.bookingapi.bookingapi.service.availability.IntervalTree.Interval;
+
+/**
+ * In-memory view of the ACTIVE and BLOCKED bookings of each property, as an
+ * interval tree for overlap checks and a day bitmap for calendars. A property is
+ * loaded from the database on first use and afterwards kept in sync by
+ * {@link BookingAvailabilityListener}.
+ */
+@Component
+public class PropertyAvailabilityIndex {
+
+	private static final Set<BookingStatus> INDEXED_STATUS = Set.of(BookingStatus.ACTIVE, BookingStatus.BLOCKED);
+	// below this many missing properties they are loaded one by one
+	private static final int BULK_LOAD_THRESHOLD = 32;
+	private static final int SEARCH_WINDOW = 1_024;
+	// a window is split in a few partitions per worker of the common pool, none smaller than this
+	private static final int MIN_SEARCH_PARTITION_SIZE = 64;
+	private static final int PARTITIONS_PER_WORKER = 4;
+
+	private final BookingRepository bookingRepository;
+	private final boolean enabled;
+	private final Map<Long, PropertyOccupancy> occupancyByProperty = new ConcurrentHashMap<>();
+	private final Map<Long, PendingWrites> writesByProperty = new ConcurrentHashMap<>();
+	private final AtomicLong writeSequence = new AtomicLong();
+
+	/**
+	 * Writes of a property still in flight and the sequence of the last write
+	 * flushed or completed, so a load that raced with them is not published.
+	 */
+	private static final class PendingWrites {
+		private int inFlight;
+		private long lastSequence;
+	}
+
+	public PropertyAvailabilityIndex(BookingRepository bookingRepository,
+			@Value("${booking.availability-index.enabled:true}") boolean enabled) {
+		this.bookingRepository = bookingRepository;
+		this.enabled = enabled;
+	}
+
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	public boolean isLoaded(Long propertyId) {
+		return occupancyByProperty.containsKey(propertyId);
+	}
+
+	public boolean hasOverlap(Long propertyId, LocalDate startDate, LocalDate endDate, Long excludedBookingId) {
+		PropertyOccupancy occupancy = occupancyOf(propertyId);
+		synchronized (occupancy) {
+			return occupancy.anyOverlap(startDate.toEpochDay(), endDate.toEpochDay(), excludedBookingId);
+		}
+	}
+
+	/**
+	 * Occupied days of the property in [from, to) merged into ranges. Without the
+	 * index the bookings of the range are read from the database.
+	 */
+	public List<DayRange> findOccupiedRanges(Long propertyId, LocalDate from, LocalDate to) {
+		List<DayBitmap.Run> runs;
+		if (enabled) {
+			PropertyOccupancy occupancy = occupancyOf(propertyId);
+			synchronized (occupancy) {
+				runs = occupancy.occupiedRuns(from.toEpochDay(), to.toEpochDay());
+			}
+		} else {
+			PropertyOccupancy occupancy = new PropertyOccupancy();
+			bookingRepository.findBlockIntervalsFromPropertyBetweenDates(propertyId, from, to)
+					.forEach(interval -> occupancy.upsert(toInterval(interval)));
+			runs = occupancy.occupiedRuns(from.toEpochDay(), to.toEpochDay());
+		}
+		return runs.stream()
+				.map(run -> new DayRange(LocalDate.ofEpochDay(run.start()), LocalDate.ofEpochDay(run.end()))).toList();
+	}
+
+	/**
+	 * The first {@code limit} properties, in the informed order, free in [startDate,
+	 * endDate). Missing properties are loaded first, with one query over their
+	 * bookings when there are many, and each window of candidates is checked in
+	 * parallel on the common fork-join pool. Callers hand over one bounded window of
+	 * candidates at a time.
+	 */
+	public List<Long> findAvailableProperties(List<Long> propertyIds, LocalDate startDate, LocalDate endDate,
+			int limit) {
+		long[] ids = propertyIds.stream().mapToLong(Long::longValue).toArray();
+		PropertyOccupancy[] occupancies = loadAll(ids);
+		long start = startDate.toEpochDay();
+		long end = endDate.toEpochDay();
+		List<Long> available = new ArrayList<>(Math.min(limit, ids.length));
+		boolean[] free = new boolean[ids.length];
+		int window = Math.max(limit * 2, SEARCH_WINDOW);
+		for (int from = 0; from < ids.length && available.size() < limit; from += window) {
+			int to = Math.min(ids.length, from + window);
+			new AvailabilityTask(occupancies, free, from, to, start, end, partitionSize(to - from)).invoke();
+			for (int i = from; i < to && available.size() < limit; i++) {
+				if (free[i]) {
+					available.add(ids[i]);
+				}
+			}
+		}
+		return available;
+	}
+
+	static int partitionSize(int candidates) {
+		int partitions = ForkJoinPool.getCommonPoolParallelism() * PARTITIONS_PER_WORKER;
+		return Math.max(MIN_SEARCH_PARTITION_SIZE, (candidates + partitions - 1) / partitions);
+	}
+
+	public void onBookingSaved(Booking booking) {
+		if (!enabled || booking.getProperty() == null) {
+			return;
+		}
+		Long propertyId = booking.getProperty().getId();
+		beginWrite(propertyId);
+		occupancyByProperty.computeIfPresent(propertyId, (id, occupancy) -> {
+			synchronized (occupancy) {
+				if (INDEXED_STATUS.contains(booking.getStatus())) {
+					occupancy.upsert(toInterval(booking.getId(), booking.getStartDate(), booking.getEndDate(),
+							booking.getStatus()));
+				} else {
+					occupancy.remove(booking.getId());
+				}
+			}
+			return occupancy;
+		});
+		completeWrite(propertyId);
+	}
+
+	public void onBookingRemoved(Booking booking) {
+		if (!enabled || booking.getProperty() == null) {
+			return;
+		}
+		Long propertyId = booking.getProperty().getId();
+		beginWrite(propertyId);
+		occupancyByProperty.computeIfPresent(propertyId, (id, occupancy) -> {
+			synchronized (occupancy) {
+				occupancy.remove(booking.getId());
+			}
+			return occupancy;
+		});
+		completeWrite(propertyId);
+	}
+
+	public void invalidate(Long propertyId) {
+		occupancyByProperty.remove(propertyId);
+	}
+
+	private PropertyOccupancy occupancyOf(Long propertyId) {
+		PropertyOccupancy occupancy = occupancyByProperty.get(propertyId);
+		if (occupancy != null) {
+			return occupancy;
+		}
+		long sequence = writeSequence.get();
+		PropertyOccupancy loaded = load(propertyId);
+		PropertyOccupancy published = publish(propertyId, loaded, sequence);
+		return published != null ? published : loaded;
+	}
+
+	private PropertyOccupancy load(Long propertyId) {
+		PropertyOccupancy occupancy = new PropertyOccupancy();
+		for (BookingInterval interval : bookingRepository.findBlockIntervalsFromProperty(propertyId)) {
+			occupancy.upsert(toInterval(interval));
+		}
+		return occupancy;
+	}
+
+	/**
+	 * The occupancy of each property, in the informed order. A property whose load
+	 * was not published is still answered from the occupancy loaded here, so the
+	 * search never goes back to the database.
+	 */
+	private PropertyOccupancy[] loadAll(long[] propertyIds) {
+		PropertyOccupancy[] occupancies = new PropertyOccupancy[propertyIds.length];
+		List<Long> missing = new ArrayList<>();
+		for (int i = 0; i < propertyIds.length; i++) {
+			occupancies[i] = occupancyByProperty.get(propertyIds[i]);
+			if (occupancies[i] == null) {
+				missing.add(propertyIds[i]);
+			}
+		}
+		if (missing.isEmpty()) {
+			return occupancies;
+		}
+		Map<Long, PropertyOccupancy> loaded = new HashMap<>();
+		if (missing.size() < BULK_LOAD_THRESHOLD) {
+			missing.forEach(id -> loaded.put(id, occupancyOf(id)));
+		} else {
+			long sequence = writeSequence.get();
+			missing.forEach(id -> loaded.put(id, new PropertyOccupancy()));
+			for (PropertyBookingInterval interval : bookingRepository.findBlockIntervalsFromProperties(missing)) {
+				loaded.get(interval.propertyId()).upsert(
+						toInterval(interval.id(), interval.startDate(), interval.endDate(), interval.status()));
+			}
+			loaded.replaceAll((id, occupancy) -> {
+				PropertyOccupancy published = publish(id, occupancy, sequence);
+				return published != null ? published : occupancy;
+			});
+		}
+		for (int i = 0; i < propertyIds.length; i++) {
+			if (occupancies[i] == null) {
+				occupancies[i] = loaded.get(propertyIds[i]);
+			}
+		}
+		return occupancies;
+	}
+
+	/**
+	 * Makes a loaded property visible unless one of its bookings was written after
+	 * {@code sequence} or is still uncommitted, since the load may have missed it.
+	 * Returns null when the property was not published.
+	 */
+	private PropertyOccupancy publish(Long propertyId, PropertyOccupancy occupancy, long sequence) {
+		return occupancyByProperty.compute(propertyId, (id, existing) -> {
+			if (existing != null) {
+				return existing;
+			}
+			PendingWrites writes = writesByProperty.get(id);
+			if (writes != null) {
+				synchronized (writes) {
+					if (writes.inFlight > 0 || writes.lastSequence > sequence) {
+						return null;
+					}
+				}
+			}
+			return occupancy;
+		});
+	}
+
+	private void beginWrite(Long propertyId) {
+		PendingWrites writes = writesByProperty.computeIfAbsent(propertyId, id -> new PendingWrites());
+		synchronized (writes) {
+			writes.inFlight++;
+			writes.lastSequence = writeSequence.incrementAndGet();
+		}
+	}
+
+	private void completeWrite(Long propertyId) {
+		// changes are applied when flushed so the next writer already sees them;
+		// a rollback drops the property and it is reloaded on the next lookup
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public int getOrder() {
+					// before the property lock is released, which would let the next writer in
+					return Ordered.HIGHEST_PRECEDENCE;
+				}
+
+				@Override
+				public void afterCompletion(int status) {
+					if (status != STATUS_COMMITTED) {
+						invalidate(propertyId);
+					}
+					endWrite(propertyId);
+				}
+			});
+		} else {
+			endWrite(propertyId);
+		}
+	}
+
+	private void endWrite(Long propertyId) {
+		PendingWrites writes = writesByProperty.get(propertyId);
+		synchronized (writes) {
+			writes.inFlight--;
+			writes.lastSequence = writeSequence.incrementAndGet();
+		}
+	}
+
+	/**
+	 * Checks the occupancies already loaded for a window; workers only read memory.
+	 */
+	private static final class AvailabilityTask extends RecursiveAction {
+
+		private static final long serialVersionUID = 1L;
+
+		private final transient PropertyOccupancy[] occupancies;
+		private final transient boolean[] free;
+		private final int from;
+		private final int to;
+		private final long start;
+		private final long end;
+		private final int partitionSize;
+
+		private AvailabilityTask(PropertyOccupancy[] occupancies, boolean[] free, int from, int to, long start,
+				long end, int partitionSize) {
+			this.occupancies = occupancies;
+			this.free = free;
+			this.from = from;
+			this.to = to;
+			this.start = start;
+			this.end = end;
+			this.partitionSize = partitionSize;
+		}
+
+		@Override
+		protected void compute() {
+			if (to - from <= partitionSize) {
+				for (int i = from; i < to; i++) {
+					PropertyOccupancy occupancy = occupancies[i];
+					synchronized (occupancy) {
+						free[i] = !occupancy.anyOverlap(start, end, null);
+					}
+				}
+				return;
+			}
+			int middle = (from + to) >>> 1;
+			invokeAll(new AvailabilityTask(occupancies, free, from, middle, start, end, partitionSize),
+					new AvailabilityTask(occupancies, free, middle, to, start, end, partitionSize));
+		}
+	}
+
+	private static Interval toInterval(BookingInterval interval) {
+		return toInterval(interval.id(), interval.startDate(), interval.endDate(), interval.status());
+	}
+
+	private static Interval toInterval(Long id, LocalDate startDate, LocalDate endDate, BookingStatus status) {
+		return new Interval(id, startDate.toEpochDay(), endDate.toEpochDay(), status);
+	}
+
+}
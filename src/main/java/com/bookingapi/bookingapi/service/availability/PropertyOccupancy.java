@@ -0,0 +1,54 @@
+package com.bookingapi.bookingapi.service.availability;
+
+import java.util.List;
+
+import com.bookingapi.bookingapi.service.availability.DayBitmap.Run;
+import com.bookingapi.bookingapi.service.availability.IntervalTree.Interval;
+
+/**
+ * The ACTIVE and BLOCKED bookings of one property, as an interval tree for
+ * overlap checks and as a day bitmap for calendars. Not thread-safe.
+ */
+class PropertyOccupancy {
+
+	private final IntervalTree tree = new IntervalTree();
+	private final DayBitmap days = new DayBitmap();
+
+	int size() {
+		return tree.size();
+	}
+
+	void upsert(Interval interval) {
+		Interval previous = tree.get(interval.id());
+		tree.upsert(interval);
+		if (previous != null) {
+			refill(previous);
+		}
+		days.set(interval.start(), interval.end());
+	}
+
+	void remove(long id) {
+		Interval previous = tree.get(id);
+		if (previous != null) {
+			tree.remove(id);
+			refill(previous);
+		}
+	}
+
+	boolean anyOverlap(long start, long end, Long excludedId) {
+		return tree.anyOverlap(start, end, excludedId);
+	}
+
+	List<Run> occupiedRuns(long from, long to) {
+		return days.occupiedRuns(from, to);
+	}
+
+	private void refill(Interval removed) {
+		// other bookings may share days with the removed one
+		days.clear(removed.start(), removed.end());
+		for (Interval interval : tree.findOverlapping(removed.start(), removed.end())) {
+			days.set(Math.max(interval.start(), removed.start()), Math.min(interval.end(), removed.end()));
+		}
+	}
+
+}
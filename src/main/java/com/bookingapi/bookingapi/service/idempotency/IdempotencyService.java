@@ -0,0 +1,144 @@
+package com.bookingapi.bookingapi.service.idempotency;
+
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.DigestUtils;
+
+import com.bookingapi.bookingapi.config.CacheConfig;
+import com.bookingapi.bookingapi.exception.BusinessException;
+import com.bookingapi.bookingapi.model.dto.responsebody.BookingResponseDTO;
+import com.bookingapi.bookingapi.model.entity.IdempotencyRecord;
+import com.bookingapi.bookingapi.repository.IdempotencyRecordRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Replays the response of a booking write sent again with the same
+ * {@code Idempotency-Key}. Responses are kept in a bounded cache in front of
+ * {@code idempotency_record}, which is written in the transaction of the write,
+ * so a stored key always matches a committed booking.
+ */
+@Service
+public class IdempotencyService {
+
+	public static final String HEADER = "Idempotency-Key";
+	public static final int MAX_KEY_LENGTH = 255;
+	static final String MSG_INVALID_KEY = "The Idempotency-Key must have between 1 and %d characters";
+	static final String MSG_KEY_REUSED = "The Idempotency-Key was already used for a different request";
+
+	private final IdempotencyRecordRepository repository;
+	private final CacheManager cacheManager;
+	private final ObjectMapper objectMapper;
+	private final TransactionTemplate transactionTemplate;
+	private final Duration retention;
+
+	private record StoredResponse(String fingerprint, BookingResponseDTO response) {
+	}
+
+	public IdempotencyService(IdempotencyRecordRepository repository, CacheManager cacheManager,
+			ObjectMapper objectMapper, PlatformTransactionManager transactionManager,
+			@Value("${booking.idempotency.retention-hours:24}") long retentionHours) {
+		this.repository = repository;
+		this.cacheManager = cacheManager;
+		this.objectMapper = objectMapper;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.retention = Duration.ofHours(retentionHours);
+	}
+
+	/**
+	 * The response stored for {@code key}, from memory when possible. Fails when the
+	 * key was used for a request other than {@code request}.
+	 */
+	public Optional<BookingResponseDTO> findResponse(String key, Object request) {
+		if (key == null) {
+			return Optional.empty();
+		}
+		if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+			throw new BusinessException(String.format(MSG_INVALID_KEY, MAX_KEY_LENGTH));
+		}
+		Cache responses = responses();
+		StoredResponse stored = responses.get(key, StoredResponse.class);
+		if (stored == null) {
+			stored = repository.findById(key).map(this::toStoredResponse).orElse(null);
+			if (stored == null) {
+				return Optional.empty();
+			}
+			responses.put(key, stored);
+		}
+		if (!stored.fingerprint().equals(fingerprintOf(request))) {
+			throw new BusinessException(MSG_KEY_REUSED, HttpStatus.UNPROCESSABLE_ENTITY);
+		}
+		return Optional.of(stored.response());
+	}
+
+	/**
+	 * Runs {@code write} and stores its response under {@code key} in one
+	 * transaction. Callers look the key up with {@link #findResponse} first; when a
+	 * concurrent request with the same key wins the race the write fails or the
+	 * insert of the key does, and the response of the winner is returned instead.
+	 */
+	public BookingResponseDTO execute(String key, Object request, Supplier<BookingResponseDTO> write) {
+		if (key == null) {
+			return write.get();
+		}
+		String fingerprint = fingerprintOf(request);
+		try {
+			return transactionTemplate.execute(status -> {
+				BookingResponseDTO response = write.get();
+				repository.saveAndFlush(IdempotencyRecord.builder().key(key).fingerprint(fingerprint)
+						.response(toJson(response)).createdAt(LocalDateTime.now()).build());
+				// applied by the transaction-aware cache once the write commits
+				responses().put(key, new StoredResponse(fingerprint, response));
+				return response;
+			});
+		} catch (RuntimeException e) {
+			return findResponse(key, request).orElseThrow(() -> e);
+		}
+	}
+
+	@Scheduled(cron = "${booking.idempotency.purge-cron:0 30 * * * *}")
+	public int purgeExpired() {
+		return transactionTemplate
+				.execute(status -> repository.deleteCreatedBefore(LocalDateTime.now().minus(retention)));
+	}
+
+	private Cache responses() {
+		return cacheManager.getCache(CacheConfig.IDEMPOTENT_RESPONSES);
+	}
+
+	private StoredResponse toStoredResponse(IdempotencyRecord idempotencyRecord) {
+		try {
+			return new StoredResponse(idempotencyRecord.getFingerprint(),
+					objectMapper.readValue(idempotencyRecord.getResponse(), BookingResponseDTO.class));
+		} catch (JsonProcessingException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	private String toJson(BookingResponseDTO response) {
+		try {
+			return objectMapper.writeValueAsString(response);
+		} catch (JsonProcessingException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	// the request DTOs are records, so their string form holds the type and every field
+	static String fingerprintOf(Object request) {
+		return DigestUtils.md5DigestAsHex(String.valueOf(request).getBytes(StandardCharsets.UTF_8));
+	}
+
+}
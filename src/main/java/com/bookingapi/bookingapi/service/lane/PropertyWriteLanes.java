@@ -0,0 +1,130 @@
+package com.bookingapi.bookingapi.service.lane;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import com.bookingapi.bookingapi.exception.BusinessException;
+import com.bookingapi.bookingapi.repository.BookingRepository;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityNotFoundException;
+
+/**
+ * Optional routing of booking writes to a fixed set of single-threaded lanes
+ * picked by property id: writes of one property run one after the other on the
+ * same lane while other properties proceed in parallel on the remaining ones.
+ * When disabled the writes run on the calling thread.
+ */
+@Component
+public class PropertyWriteLanes implements DisposableBean {
+
+	static final String MSG_LANE_FULL = "Too many pending changes for this property, try again later";
+	static final String MSG_LANE_TIMEOUT = "The change for this property is taking too long, try again later";
+	private static final String MSG_BOOKING_NOT_FOUND = "Booking not found";
+
+	private final BookingRepository bookingRepository;
+	private final ThreadPoolExecutor[] lanes;
+	private final long timeoutMillis;
+
+	public PropertyWriteLanes(BookingRepository bookingRepository, MeterRegistry meterRegistry,
+			@Value("${booking.write-lanes.enabled:false}") boolean enabled,
+			@Value("${booking.write-lanes.count:0}") int count,
+			@Value("${booking.write-lanes.queue-capacity:1000}") int queueCapacity,
+			@Value("${booking.write-lanes.timeout-ms:30000}") long timeoutMillis) {
+		this.bookingRepository = bookingRepository;
+		this.timeoutMillis = timeoutMillis;
+		this.lanes = new ThreadPoolExecutor[enabled ? laneCount(count) : 0];
+		CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("booking-lane-");
+		for (int i = 0; i < lanes.length; i++) {
+			ThreadPoolExecutor lane = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+					new LinkedBlockingQueue<>(queueCapacity), threadFactory);
+			Gauge.builder("booking.write.lane.queue.depth", lane, executor -> executor.getQueue().size())
+					.description("Booking writes waiting on the lane").tag("lane", String.valueOf(i))
+					.register(meterRegistry);
+			lanes[i] = lane;
+		}
+	}
+
+	public boolean isEnabled() {
+		return lanes.length > 0;
+	}
+
+	public <T> T execute(Long propertyId, Supplier<T> write) {
+		if (!isEnabled() || propertyId == null) {
+			return write.get();
+		}
+		return await(submit(laneOf(propertyId), write));
+	}
+
+	public <T> T executeForBooking(Long bookingId, Supplier<T> write) {
+		if (!isEnabled()) {
+			return write.get();
+		}
+		Long propertyId = bookingRepository.findPropertyIdById(bookingId)
+				.orElseThrow(() -> new EntityNotFoundException(MSG_BOOKING_NOT_FOUND));
+		return execute(propertyId, write);
+	}
+
+	public void runForBooking(Long bookingId, Runnable write) {
+		executeForBooking(bookingId, () -> {
+			write.run();
+			return null;
+		});
+	}
+
+	int laneOf(Long propertyId) {
+		return Math.floorMod(Long.hashCode(propertyId), lanes.length);
+	}
+
+	@Override
+	public void destroy() {
+		for (ThreadPoolExecutor lane : lanes) {
+			lane.shutdown();
+		}
+	}
+
+	private <T> Future<T> submit(int lane, Supplier<T> write) {
+		try {
+			return lanes[lane].submit(write::get);
+		} catch (RejectedExecutionException e) {
+			throw new BusinessException(MSG_LANE_FULL, HttpStatus.SERVICE_UNAVAILABLE);
+		}
+	}
+
+	private <T> T await(Future<T> future) {
+		try {
+			return future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+		} catch (TimeoutException e) {
+			// a write still queued is dropped; one already running on the lane is left to finish
+			future.cancel(false);
+			throw new BusinessException(MSG_LANE_TIMEOUT, HttpStatus.SERVICE_UNAVAILABLE);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			future.cancel(false);
+			throw new IllegalStateException(e);
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof RuntimeException cause) {
+				throw cause;
+			}
+			throw new IllegalStateException(e.getCause());
+		}
+	}
+
+	private static int laneCount(int count) {
+		return count > 0 ? count : Runtime.getRuntime().availableProcessors();
+	}
+
+}
@@ -0,0 +1,85 @@
+package com.bookingapi.bookingapi.service.lock;
+
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.Assert;
+
+import com.bookingapi.bookingapi.exception.BusinessException;
+
+/**
+ * Serializes the writes that may make bookings of the same property overlap,
+ * so the availability check and the insert run as one step per property.
+ * Properties are spread over a fixed set of lock stripes; a stripe taken inside
+ * a transaction is released when the transaction completes, once the commit has
+ * made the change visible to the next writer, and after every other completion
+ * callback, so a rolled back write is dropped from the availability index first.
+ */
+@Component
+public class PropertyWriteLock {
+
+	static final String MSG_PROPERTY_LOCK_TIMEOUT = "The property is being updated by another request, try again";
+
+	private final ReentrantLock[] stripes;
+	private final long timeoutMillis;
+
+	public PropertyWriteLock(@Value("${booking.property-lock.stripes:256}") int stripes,
+			@Value("${booking.property-lock.timeout-ms:5000}") long timeoutMillis) {
+		this.stripes = new ReentrantLock[stripes];
+		for (int i = 0; i < stripes; i++) {
+			this.stripes[i] = new ReentrantLock();
+		}
+		this.timeoutMillis = timeoutMillis;
+	}
+
+	public void lock(Long propertyId) {
+		lockStripe(stripeOf(propertyId));
+	}
+
+	public void lockAll(Collection<Long> propertyIds) {
+		// always in ascending stripe order, two batches sharing properties can't deadlock
+		propertyIds.stream().mapToInt(this::stripeOf).distinct().sorted().forEach(this::lockStripe);
+	}
+
+	int stripeOf(Long propertyId) {
+		long hash = propertyId * 0x9E3779B97F4A7C15L;
+		return (int) Math.floorMod(hash ^ (hash >>> 32), (long) stripes.length);
+	}
+
+	private void lockStripe(int stripe) {
+		Assert.state(TransactionSynchronizationManager.isSynchronizationActive(),
+				"The property lock must be taken inside a transaction");
+		ReentrantLock lock = stripes[stripe];
+		acquire(lock);
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public int getOrder() {
+				return Ordered.LOWEST_PRECEDENCE;
+			}
+
+			@Override
+			public void afterCompletion(int status) {
+				lock.unlock();
+			}
+		});
+	}
+
+	private void acquire(ReentrantLock lock) {
+		try {
+			if (!lock.tryLock(timeoutMillis, TimeUnit.MILLISECONDS)) {
+				throw new BusinessException(MSG_PROPERTY_LOCK_TIMEOUT, HttpStatus.CONFLICT);
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new BusinessException(MSG_PROPERTY_LOCK_TIMEOUT, HttpStatus.CONFLICT);
+		}
+	}
+
+}
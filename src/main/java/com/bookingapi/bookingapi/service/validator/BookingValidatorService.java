@@ -1,30 +1,45 @@
 package com.bookingapi.bookingapi.service.validator;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Component;
-import org.springframework.util.CollectionUtils;
 
 import com.bookingapi.bookingapi.enumerator.BookingStatus;
 import com.bookingapi.bookingapi.enumerator.UserType;
 import com.bookingapi.bookingapi.exception.BusinessException;
-import com.bookingapi.bookingapi.model.dto.requestbody.BlockDTO;
+import com.bookingapi.bookingapi.group.CreateGroup;
+import com.bookingapi.bookingapi.model.dto.requestbody.CreateBookingDTO;
 import com.bookingapi.bookingapi.model.entity.Booking;
 import com.bookingapi.bookingapi.model.entity.Property;
 import com.bookingapi.bookingapi.model.entity.User;
+import com.bookingapi.bookingapi.model.projection.PropertyBookingInterval;
 import com.bookingapi.bookingapi.repository.BookingRepository;
+import com.bookingapi.bookingapi.service.availability.BatchAvailability;
+import com.bookingapi.bookingapi.service.availability.PropertyAvailabilityIndex;
 
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 
+/**
+ * Business rules of bookings and blocks. The dates of a booking or block are
+ * checked by a {@link ValidationPipeline}, in-memory rules first; the database
+ * rules of a block share one query over its properties and dates.
+ */
 @Component
-@RequiredArgsConstructor
 public class BookingValidatorService {
 
 	static final String MSG_VALIDATE_BOOKING_IS_BLOCKED = "The booking must be with status Blocked to be deleted";
 	static final String MSG_VALIDATE_USER_CAN_UPDATE_BOOKING = "User not able to modify this booking";
 	static final String MSG_VALIDATE_PROPERTY_HAS_ACTIVE_OR_BLOCKED_BOOKINGS = "The property has active bookings or blocks between these dates";
+	static final String MSG_VALIDATE_PROPERTIES_HAVE_ACTIVE_OR_BLOCKED_BOOKINGS = "The properties %s have active bookings or blocks between these dates";
 	static final String MSG_VALIDATE_USER_HAS_PERMISSION_TO_BLOCK = "This user is not able to modify a block for this property";
 	static final String MSG_VALIDATE_BOOKING_STATUS_CHANGING_TO_BLOCKED = "It's not possible to Block this booking";
 	static final String MSG_VALIDATE_BOOKING_MUST_BE_CANCELED_TO_REBOOK = "The booking must be canceled to perform this action";
@@ -32,8 +47,101 @@ public class BookingValidatorService {
 	static final String MSG_VALIDATE_BLOCKS_FROM_PROPERTY = "Booking not available for this property in this date";
 	static final String MSG_VALIDATE_USER_INFORMED_IS_TYPE_GUEST = "Only users of type GUEST can request a booking";
 	static final String MSG_VALIDATE_BOOKING_DATES = "StartDate must be before EndDate";
+	static final String MSG_VALIDATE_CREATE_BOOKING_PAYLOAD = "Invalid booking payload";
+
+	private static final Set<BookingStatus> BLOCKING_STATUS = Set.of(BookingStatus.ACTIVE, BookingStatus.BLOCKED);
 
 	private final BookingRepository bookingRepository;
+	private final PropertyAvailabilityIndex availabilityIndex;
+	private final Validator validator;
+	private final ValidationPipeline<BookingRequest> bookingRules;
+	private final ValidationPipeline<BlockRequest> blockRules;
+
+	private record BookingRequest(Long bookingId, Long propertyId, LocalDate startDate, LocalDate endDate) {
+	}
+
+	private static final class BlockRequest {
+
+		private final User user;
+		private final Collection<Property> properties;
+		private final LocalDate startDate;
+		private final LocalDate endDate;
+		private final Long blockId;
+		private final Supplier<List<PropertyBookingInterval>> loader;
+		private List<PropertyBookingInterval> bookings;
+
+		private BlockRequest(User user, Collection<Property> properties, LocalDate startDate, LocalDate endDate,
+				Long blockId, Supplier<List<PropertyBookingInterval>> loader) {
+			this.user = user;
+			this.properties = properties;
+			this.startDate = startDate;
+			this.endDate = endDate;
+			this.blockId = blockId;
+			this.loader = loader;
+		}
+
+		// every booking of the properties overlapping the dates, read once
+		private List<PropertyBookingInterval> bookings() {
+			if (bookings == null) {
+				bookings = loader.get();
+			}
+			return bookings;
+		}
+	}
+
+	public BookingValidatorService(BookingRepository bookingRepository, PropertyAvailabilityIndex availabilityIndex,
+			Validator validator, MeterRegistry meterRegistry) {
+		this.bookingRepository = bookingRepository;
+		this.availabilityIndex = availabilityIndex;
+		this.validator = validator;
+		this.bookingRules = new ValidationPipeline<>("booking", List.of(
+				new ValidationRule<>("dates", RuleSource.MEMORY,
+						request -> validateBookingDates(request.startDate(), request.endDate())),
+				// a property is read once into the index and checked in memory afterwards
+				new ValidationRule<>("overlap", availabilityIndex.isEnabled() ? RuleSource.MEMORY : RuleSource.DATABASE,
+						this::validateBlocksFromProperty)),
+				meterRegistry);
+		this.blockRules = new ValidationPipeline<>("block", List.of(
+				new ValidationRule<>("dates", RuleSource.MEMORY,
+						request -> validateBookingDates(request.startDate, request.endDate)),
+				new ValidationRule<>("permission", RuleSource.MEMORY,
+						request -> validateUserHasPermissionToBlock(request.user, request.properties)),
+				new ValidationRule<>("conflicts", RuleSource.DATABASE, this::validateNoActiveOrBlockedBookings)),
+				meterRegistry);
+	}
+
+	public void validateCreateBookingPayload(CreateBookingDTO bookingDTO) {
+		Set<ConstraintViolation<CreateBookingDTO>> violations = validator.validate(bookingDTO, CreateGroup.class);
+		if (!violations.isEmpty()) {
+			throw new BusinessException(violations.stream()
+					.map(violation -> String.format("%s: %s", violation.getPropertyPath(), violation.getMessage()))
+					.sorted().collect(Collectors.joining("|")), MSG_VALIDATE_CREATE_BOOKING_PAYLOAD);
+		}
+	}
+
+	public BatchAvailability loadBatchAvailability(List<CreateBookingDTO> bookingDTOs) {
+		// one query per property covering the dates of all its items in the batch
+		Map<Long, List<CreateBookingDTO>> bookingsByProperty = bookingDTOs.stream()
+				.filter(dto -> dto.propertyId() != null && dto.startDate() != null && dto.endDate() != null)
+				.collect(Collectors.groupingBy(CreateBookingDTO::propertyId));
+		BatchAvailability availability = new BatchAvailability();
+		bookingsByProperty.forEach((propertyId, dtos) -> {
+			LocalDate firstStartDate = dtos.stream().map(CreateBookingDTO::startDate).min(LocalDate::compareTo)
+					.orElseThrow();
+			LocalDate lastEndDate = dtos.stream().map(CreateBookingDTO::endDate).max(LocalDate::compareTo)
+					.orElseThrow();
+			availability.load(propertyId, bookingRepository.findBlockIntervalsFromPropertyBetweenDates(propertyId,
+					firstStartDate, lastEndDate));
+		});
+		return availability;
+	}
+
+	public void validateBatchAvailability(BatchAvailability availability, CreateBookingDTO bookingDTO) {
+		validateBookingDates(bookingDTO.startDate(), bookingDTO.endDate());
+		if (availability.hasOverlap(bookingDTO.propertyId(), bookingDTO.startDate(), bookingDTO.endDate())) {
+			throw new BusinessException(MSG_VALIDATE_BLOCKS_FROM_PROPERTY);
+		}
+	}
 
 	public void validateUserInformedIsTypeGuest(User user) {
 		if (!UserType.GUEST.equals(user.getUserType())) {
@@ -43,8 +151,22 @@ public class BookingValidatorService {
 
 	public void validateBookingPersistence(Long bookingId, LocalDate startDate, LocalDate endDate, Long propertyId)
 			throws BusinessException {
-		validateBlocksFromProperty(bookingId, startDate, endDate, propertyId);
-		validateBookingDates(startDate, endDate);
+		bookingRules.validate(new BookingRequest(bookingId, propertyId, startDate, endDate));
+	}
+
+	/**
+	 * Validates a block of the properties between the dates, {@code blockId} being
+	 * the block updated, if any. Returns the ids of the canceled bookings the block
+	 * replaces, found by the same query that looked for conflicts.
+	 */
+	public List<Long> validateBlock(User user, Collection<Property> properties, LocalDate startDate,
+			LocalDate endDate, Long blockId) {
+		BlockRequest request = new BlockRequest(user, properties, startDate, endDate, blockId,
+				() -> bookingRepository.findIntervalsFromPropertiesBetweenDates(
+						properties.stream().map(Property::getId).toList(), startDate, endDate));
+		blockRules.validate(request);
+		return request.bookings().stream().filter(booking -> BookingStatus.CANCELED.equals(booking.status()))
+				.map(PropertyBookingInterval::id).toList();
 	}
 
 	public void validateBookingIsAlreadyCanceled(Booking booking) {
@@ -73,21 +195,9 @@ public class BookingValidatorService {
 		}
 	}
 
-	public void validatePropertyHasActiveOrBlockedBookings(BlockDTO blockDTO) {
-		boolean hasActiveBookingsThatDates = !CollectionUtils.isEmpty(findBookingsFromPropertyBetweenDatesWithStatus(
-				blockDTO, List.of(BookingStatus.ACTIVE, BookingStatus.BLOCKED)));
-		if (hasActiveBookingsThatDates) {
-			throw new BusinessException(MSG_VALIDATE_PROPERTY_HAS_ACTIVE_OR_BLOCKED_BOOKINGS);
-		}
-	}
-
-	public void verifyPropertyHasCanceledBookings(BlockDTO blockDTO) {
-		List<Booking> canceledBookings = findBookingsFromPropertyBetweenDatesWithStatus(blockDTO,
-				List.of(BookingStatus.CANCELED));
-		boolean hasCanceledBookingsThoseDates = !CollectionUtils.isEmpty(canceledBookings);
-		if (hasCanceledBookingsThoseDates) {
-			// deletes canceled bookings
-			bookingRepository.deleteAll(canceledBookings);
+	public void validateUserHasPermissionToBlock(User user, Collection<Property> properties) {
+		if (!properties.stream().allMatch(property -> verifyUserHasPermissionToBlock(property, user))) {
+			throw new BusinessException(MSG_VALIDATE_USER_HAS_PERMISSION_TO_BLOCK, HttpStatus.FORBIDDEN);
 		}
 	}
 
@@ -109,11 +219,6 @@ public class BookingValidatorService {
 		}
 	}
 
-	private List<Booking> findBookingsFromPropertyBetweenDatesWithStatus(BlockDTO block, List<BookingStatus> status) {
-		return bookingRepository.findBookingsFromPropertyBetweenDates(block.propertyId(), block.startDate(),
-				block.endDate(), status);
-	}
-
 	private boolean verifyUserHasPermissionToBlock(Property prop, User user) {
 		// User of type guest is not allowed to block a booking
 		List<Long> managerAndOwnerIdsOfProperty = List.of(prop.getManager().getId(), prop.getOwner().getId());
@@ -121,21 +226,36 @@ public class BookingValidatorService {
 	}
 
 	public void validateBookingDates(LocalDate startDate, LocalDate endDate) {
-		if (startDate.isAfter(endDate)) {
+		// a booking covers the nights of [startDate, endDate), so it needs at least one
+		if (!startDate.isBefore(endDate)) {
 			throw new BusinessException(MSG_VALIDATE_BOOKING_DATES);
 		}
 	}
 
-	private void validateBlocksFromProperty(Long bookingId, LocalDate startDate, LocalDate endDate, Long propertyId)
-			throws BusinessException {
-		List<Booking> blocks = findBlocksFromPropertyBetweenDates(propertyId, startDate, endDate);
-		if (!CollectionUtils.isEmpty(blocks) && blocks.stream().noneMatch(block -> block.getId().equals(bookingId))) {
+	private void validateBlocksFromProperty(BookingRequest request) throws BusinessException {
+		boolean hasBlocksThatDates = availabilityIndex.isEnabled()
+				? availabilityIndex.hasOverlap(request.propertyId(), request.startDate(), request.endDate(),
+						request.bookingId())
+				: bookingRepository.existsBlockFromPropertyBetweenDates(request.propertyId(), request.startDate(),
+						request.endDate(), request.bookingId());
+		if (hasBlocksThatDates) {
 			throw new BusinessException(MSG_VALIDATE_BLOCKS_FROM_PROPERTY);
 		}
 	}
 
-	private List<Booking> findBlocksFromPropertyBetweenDates(Long idProperty, LocalDate startDate, LocalDate endDate) {
-		return bookingRepository.findBlocksFromPropertyBetweenDates(idProperty, startDate, endDate);
+	private void validateNoActiveOrBlockedBookings(BlockRequest request) {
+		List<Long> conflictingPropertyIds = request.bookings().stream()
+				.filter(booking -> BLOCKING_STATUS.contains(booking.status()) && !booking.id().equals(request.blockId))
+				.map(PropertyBookingInterval::propertyId).distinct().sorted().toList();
+		if (conflictingPropertyIds.isEmpty()) {
+			return;
+		}
+		if (request.properties.size() == 1) {
+			throw new BusinessException(MSG_VALIDATE_PROPERTY_HAS_ACTIVE_OR_BLOCKED_BOOKINGS);
+		}
+		throw new BusinessException(
+				String.format(MSG_VALIDATE_PROPERTIES_HAVE_ACTIVE_OR_BLOCKED_BOOKINGS, conflictingPropertyIds),
+				MSG_VALIDATE_PROPERTIES_HAVE_ACTIVE_OR_BLOCKED_BOOKINGS);
 	}
 
 }
@@ -0,0 +1,11 @@
+package com.bookingapi.bookingapi.service.validator;
+
+/**
+ * Where a validation rule reads its data from, cheapest first: a pipeline runs
+ * its in-memory rules before the ones that query the database.
+ */
+public enum RuleSource {
+
+	MEMORY, DATABASE
+
+}
@@ -0,0 +1,38 @@
+package com.bookingapi.bookingapi.service.validator;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Rules run in order of {@link RuleSource}, keeping the declared order within
+ * the same source, and stop at the first failure. Each rule is timed as
+ * {@code booking.validator.rule}, tagged with the pipeline, rule and source.
+ */
+public class ValidationPipeline<T> {
+
+	public static final String METRIC_RULE = "booking.validator.rule";
+
+	private final List<ValidationRule<T>> rules;
+	private final List<Timer> timers;
+
+	public ValidationPipeline(String name, List<ValidationRule<T>> rules, MeterRegistry meterRegistry) {
+		this.rules = rules.stream().sorted(Comparator.comparing(ValidationRule::source)).toList();
+		this.timers = this.rules.stream()
+				.map(rule -> Timer.builder(METRIC_RULE).description("Booking validation rules")
+						.tag("pipeline", name).tag("rule", rule.name())
+						.tag("source", rule.source().name().toLowerCase(Locale.ROOT)).register(meterRegistry))
+				.toList();
+	}
+
+	public void validate(T subject) {
+		for (int i = 0; i < rules.size(); i++) {
+			ValidationRule<T> rule = rules.get(i);
+			timers.get(i).record(() -> rule.check().accept(subject));
+		}
+	}
+
+}
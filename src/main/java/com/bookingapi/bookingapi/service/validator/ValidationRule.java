@@ -0,0 +1,11 @@
+package com.bookingapi.bookingapi.service.validator;
+
+import java.util.function.Consumer;
+
+/**
+ * A named check of a {@link ValidationPipeline}, failing with a
+ * {@link com.bookingapi.bookingapi.exception.BusinessException}.
+ */
+public record ValidationRule<T>(String name, RuleSource source, Consumer<T> check) {
+
+}
@@ -1,17 +1,22 @@
-INSERT INTO USERS (email,user_type) values('guest1@email.com','GUEST');
-INSERT INTO USERS (email,user_type) values('manager1@email.com','MANAGER');
-INSERT INTO USERS (email,user_type) values('owner1@email.com','OWNER');
+INSERT INTO USERS (id,email,user_type) values(1,'guest1@email.com','GUEST');
+INSERT INTO USERS (id,email,user_type) values(2,'manager1@email.com','MANAGER');
+INSERT INTO USERS (id,email,user_type) values(3,'owner1@email.com','OWNER');
 
-INSERT INTO USERS (email,user_type) values('guest2@email.com','GUEST');
-INSERT INTO USERS (email,user_type) values('manager2@email.com','MANAGER');
-INSERT INTO USERS (email,user_type) values('owner2@email.com','OWNER');
+INSERT INTO USERS (id,email,user_type) values(4,'guest2@email.com','GUEST');
+INSERT INTO USERS (id,email,user_type) values(5,'manager2@email.com','MANAGER');
+INSERT INTO USERS (id,email,user_type) values(6,'owner2@email.com','OWNER');
 
-INSERT INTO USERS (email,user_type) values('guest3@email.com','GUEST');
-INSERT INTO USERS (email,user_type) values('manager3@email.com','MANAGER');
-INSERT INTO USERS (email,user_type) values('owner3@email.com','OWNER');
+INSERT INTO USERS (id,email,user_type) values(7,'guest3@email.com','GUEST');
+INSERT INTO USERS (id,email,user_type) values(8,'manager3@email.com','MANAGER');
+INSERT INTO USERS (id,email,user_type) values(9,'owner3@email.com','OWNER');
 
-INSERT INTO PROPERTY (manager_id, owner_id, description) VALUES (2,3,'Property 1 - ManagerId: 2, OwnerId: 3');
-INSERT INTO PROPERTY (manager_id, owner_id, description) VALUES (5,6,'Property 2 - ManagerId: 5, OwnerId: 6');
-INSERT INTO PROPERTY (manager_id, owner_id, description) VALUES (8,9,'Property 3 - ManagerId: 8, OwnerId: 9');
+INSERT INTO PROPERTY (id, manager_id, owner_id, description, version) VALUES (1,2,3,'Property 1 - ManagerId: 2, OwnerId: 3', 0);
+INSERT INTO PROPERTY (id, manager_id, owner_id, description, version) VALUES (2,5,6,'Property 2 - ManagerId: 5, OwnerId: 6', 0);
+INSERT INTO PROPERTY (id, manager_id, owner_id, description, version) VALUES (3,8,9,'Property 3 - ManagerId: 8, OwnerId: 9', 0);
 
-INSERT INTO BOOKING (start_date, end_date, property_id, user_id, status, details) values ('2099-12-01','2099-12-05',1,1,'ACTIVE', 'Booking Details');
\ No newline at end of file
+INSERT INTO BOOKING (id, start_date, end_date, property_id, user_id, status, details, version) values (1,'2099-12-01','2099-12-05',1,1,'ACTIVE', 'Booking Details', 0);
+
+-- ids above are explicit, the pooled generators hand out blocks of 50 ending at the sequence value
+ALTER SEQUENCE users_seq RESTART WITH 100;
+ALTER SEQUENCE property_seq RESTART WITH 100;
+ALTER SEQUENCE booking_seq RESTART WITH 100;
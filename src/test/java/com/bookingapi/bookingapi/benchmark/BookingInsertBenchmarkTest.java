@@ -0,0 +1,102 @@
+package com.bookingapi.bookingapi.benchmark;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.TestInstance.Lifecycle;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.bookingapi.bookingapi.enumerator.BookingStatus;
+import com.bookingapi.bookingapi.model.entity.Booking;
+import com.bookingapi.bookingapi.model.entity.Property;
+import com.bookingapi.bookingapi.model.entity.User;
+import com.bookingapi.bookingapi.repository.BookingRepository;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * Inserts {@code -Dbenchmark.inserts} (default 100k) bookings through JPA, one
+ * transaction per {@code saveAll} chunk, and reports the insert throughput. Run
+ * with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+@TestInstance(Lifecycle.PER_CLASS)
+class BookingInsertBenchmarkTest {
+
+	private static final int INSERTS = Integer.getInteger("benchmark.inserts", 100_000);
+	private static final int CHUNK = 1_000;
+	private static final LocalDate FIRST_DAY = LocalDate.of(2100, 1, 1);
+	private static final String DESCRIPTION = "insert-benchmark";
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Autowired
+	private EntityManager entityManager;
+
+	@Autowired
+	private BookingRepository bookingRepository;
+
+	private Long propertyId;
+
+	@BeforeAll
+	void seed() {
+		jdbcTemplate.update("INSERT INTO property (id, manager_id, owner_id, description, version) "
+				+ "VALUES (NEXT VALUE FOR property_seq, 2, 3, ?, 0)", DESCRIPTION);
+		propertyId = jdbcTemplate.queryForObject("SELECT id FROM property WHERE description = ?", Long.class,
+				DESCRIPTION);
+	}
+
+	@AfterAll
+	void cleanup() {
+		jdbcTemplate.update("DELETE FROM booking WHERE property_id = ?", propertyId);
+		jdbcTemplate.update("DELETE FROM property WHERE id = ?", propertyId);
+	}
+
+	@Test
+	@DisplayName("Booking insert throughput through JPA")
+	void insertThroughput() {
+		insertChunks(CHUNK);
+		long start = System.nanoTime();
+		insertChunks(INSERTS);
+		long elapsed = System.nanoTime() - start;
+		System.out.printf("%d bookings inserted in %d ms, %.0f bookings/s%n", INSERTS, elapsed / 1_000_000,
+				INSERTS / (elapsed / 1_000_000_000.0));
+		assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM booking WHERE property_id = ?", Long.class,
+				propertyId)).isEqualTo(INSERTS + CHUNK);
+	}
+
+	private void insertChunks(int total) {
+		for (int offset = 0; offset < total; offset += CHUNK) {
+			int size = Math.min(CHUNK, total - offset);
+			transactionTemplate.executeWithoutResult(status -> {
+				Property property = entityManager.getReference(Property.class, propertyId);
+				User user = entityManager.getReference(User.class, 1L);
+				List<Booking> bookings = new ArrayList<>(size);
+				for (int i = 0; i < size; i++) {
+					LocalDate startDate = FIRST_DAY.plusDays(i);
+					bookings.add(Booking.builder().startDate(startDate).endDate(startDate.plusDays(1))
+							.status(BookingStatus.ACTIVE).property(property).user(user).build());
+				}
+				bookingRepository.saveAll(bookings);
+			});
+		}
+	}
+
+}
@@ -0,0 +1,160 @@
+package com.bookingapi.bookingapi.benchmark;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.TestInstance.Lifecycle;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.bookingapi.bookingapi.enumerator.BookingStatus;
+import com.bookingapi.bookingapi.repository.BookingCursor;
+import com.bookingapi.bookingapi.repository.BookingListingFilter;
+import com.bookingapi.bookingapi.service.BookingService;
+
+/**
+ * Seeds {@code -Dbenchmark.bookings} (default 1M) bookings over 10k properties
+ * and 10k guests in an H2 file database under target, then reports the p99 of
+ * {@link BookingService#findBookings} pages of 100 for each kind of filter. Run
+ * with {@code mvn test -Pbenchmark -Dtest=BookingListingBenchmarkTest}. The 10M
+ * rows of the target size are opt-in with {@code -Dbenchmark.bookings=10000000}
+ * and need about 40 GB of disk for the H2 file; that size hasn't been measured.
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = { "spring.jpa.show-sql=false",
+		"spring.datasource.url=jdbc:h2:file:./target/listing-benchmark;CACHE_SIZE=262144",
+		"spring.jpa.hibernate.ddl-auto=create-drop" })
+@TestInstance(Lifecycle.PER_CLASS)
+class BookingListingBenchmarkTest {
+
+	private static final int BOOKINGS = Integer.getInteger("benchmark.bookings", 1_000_000);
+	private static final double P99_LIMIT_MILLIS = Double
+			.parseDouble(System.getProperty("benchmark.listing.p99-millis", "20"));
+	private static final int PROPERTIES = 10_000;
+	private static final int USERS = 10_000;
+	private static final int QUERIES = 2_000;
+	private static final int PAGE_SIZE = 100;
+	private static final int CHUNK = 10_000;
+	private static final LocalDate FIRST_DAY = LocalDate.of(2100, 1, 1);
+	private static final BookingStatus[] STATUS = BookingStatus.values();
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private BookingService bookingService;
+
+	private List<Long> propertyIds;
+	private List<Long> userIds;
+	private int bookingsPerProperty;
+
+	@BeforeAll
+	void seed() {
+		List<Object[]> rows = new ArrayList<>();
+		for (int i = 0; i < USERS; i++) {
+			rows.add(new Object[] { "listing-benchmark-" + i + "@email.com" });
+		}
+		jdbcTemplate.batchUpdate(
+				"INSERT INTO users (id, email, user_type) VALUES (NEXT VALUE FOR users_seq, ?, 'GUEST')", rows);
+		userIds = jdbcTemplate.queryForList("SELECT id FROM users WHERE user_type = 'GUEST' ORDER BY id", Long.class);
+		rows.clear();
+		for (int i = 0; i < PROPERTIES; i++) {
+			rows.add(new Object[] { "listing-benchmark" });
+		}
+		jdbcTemplate.batchUpdate("INSERT INTO property (id, manager_id, owner_id, description, version) "
+				+ "VALUES (NEXT VALUE FOR property_seq, 2, 3, ?, 0)", rows);
+		propertyIds = jdbcTemplate.queryForList("SELECT id FROM property ORDER BY id", Long.class);
+		rows.clear();
+
+		bookingsPerProperty = BOOKINGS / propertyIds.size();
+		Random random = new Random(42);
+		for (Long propertyId : propertyIds) {
+			LocalDate start = FIRST_DAY;
+			for (int i = 0; i < bookingsPerProperty; i++) {
+				LocalDate end = start.plusDays(1 + random.nextInt(3));
+				rows.add(new Object[] { Date.valueOf(start), Date.valueOf(end), propertyId,
+						userIds.get(random.nextInt(userIds.size())), STATUS[random.nextInt(STATUS.length)].name() });
+				if (rows.size() == CHUNK) {
+					insertBookings(rows);
+				}
+				start = end;
+			}
+		}
+		insertBookings(rows);
+		jdbcTemplate.execute("ANALYZE");
+	}
+
+	@Test
+	@DisplayName("Listing pages keep their p99 under the limit")
+	void listingLatency() {
+		Random random = new Random(7);
+		int days = bookingsPerProperty * 2;
+		List<Double> p99s = new ArrayList<>();
+		p99s.add(measure("property and a year", random, r -> {
+			LocalDate from = FIRST_DAY.plusDays(r.nextInt(days));
+			return new Query(BookingListingFilter.builder().propertyId(property(r)).from(from)
+					.to(from.plusDays(365)).build(), null);
+		}));
+		p99s.add(measure("property after a cursor", random, r -> {
+			Long propertyId = property(r);
+			return new Query(BookingListingFilter.builder().propertyId(propertyId).build(),
+					new BookingCursor(propertyId, FIRST_DAY.plusDays(r.nextInt(days)), 0L).toString());
+		}));
+		p99s.add(measure("user and status", random,
+				r -> new Query(BookingListingFilter.builder().userId(userIds.get(r.nextInt(userIds.size())))
+						.status(STATUS[r.nextInt(STATUS.length)]).build(), null)));
+		p99s.add(measure("a month after a cursor", random, r -> {
+			LocalDate from = FIRST_DAY.plusDays(r.nextInt(days));
+			return new Query(BookingListingFilter.builder().from(from).to(from.plusDays(30)).build(),
+					new BookingCursor(property(r), FIRST_DAY, 0L).toString());
+		}));
+		assertThat(p99s).allMatch(p99 -> p99 < P99_LIMIT_MILLIS);
+	}
+
+	private double measure(String scenario, Random random, Function<Random, Query> queries) {
+		for (int i = 0; i < QUERIES / 4; i++) {
+			Query query = queries.apply(random);
+			bookingService.findBookings(query.filter(), query.after(), PAGE_SIZE);
+		}
+		long[] latencies = new long[QUERIES];
+		long rows = 0;
+		for (int i = 0; i < QUERIES; i++) {
+			Query query = queries.apply(random);
+			long start = System.nanoTime();
+			rows += bookingService.findBookings(query.filter(), query.after(), PAGE_SIZE).size();
+			latencies[i] = System.nanoTime() - start;
+		}
+		Arrays.sort(latencies);
+		double p99 = latencies[(int) Math.ceil(QUERIES * 0.99) - 1] / 1_000_000.0;
+		System.out.printf("%d bookings, %s: p50 %.2f ms, p99 %.2f ms, %.1f rows/page%n", BOOKINGS, scenario,
+				latencies[QUERIES / 2] / 1_000_000.0, p99, (double) rows / QUERIES);
+		return p99;
+	}
+
+	private Long property(Random random) {
+		return propertyIds.get(random.nextInt(propertyIds.size()));
+	}
+
+	private void insertBookings(List<Object[]> rows) {
+		jdbcTemplate.batchUpdate("INSERT INTO booking (id, start_date, end_date, property_id, user_id, status, version) "
+				+ "VALUES (NEXT VALUE FOR booking_seq, ?, ?, ?, ?, ?, 0)", rows);
+		rows.clear();
+	}
+
+	private record Query(BookingListingFilter filter, String after) {
+	}
+
+}
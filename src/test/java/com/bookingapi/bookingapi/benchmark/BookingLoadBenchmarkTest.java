@@ -0,0 +1,164 @@
+package com.bookingapi.bookingapi.benchmark;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpRequest.BodyPublishers;
+import java.net.http.HttpResponse.BodyHandlers;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.MethodOrderer.OrderAnnotation;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.TestInstance.Lifecycle;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.bookingapi.bookingapi.service.availability.PropertyAvailabilityIndex;
+
+/**
+ * Drives {@code POST /v1/booking} and {@code GET /v1/booking/{id}} over HTTP with
+ * {@code -Dbenchmark.concurrency} (default 2000) requests in flight and reports
+ * throughput and p99 latency. Compare the request execution modes with
+ * {@code mvn test -Pbenchmark -Dtest=BookingLoadBenchmarkTest
+ * -Dspring.threads.virtual.enabled=true|false} on Java 21.
+ */
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT, properties = { "spring.jpa.show-sql=false",
+		"server.tomcat.max-connections=10000", "server.tomcat.accept-count=10000" })
+@TestInstance(Lifecycle.PER_CLASS)
+@TestMethodOrder(OrderAnnotation.class)
+class BookingLoadBenchmarkTest {
+
+	private static final int REQUESTS = Integer.getInteger("benchmark.requests", 20_000);
+	private static final int CONCURRENCY = Integer.getInteger("benchmark.concurrency", 2_000);
+	private static final int PROPERTIES = 100;
+	private static final LocalDate FIRST_DAY = LocalDate.of(2200, 1, 1);
+	private static final String DESCRIPTION = "load-benchmark";
+
+	@LocalServerPort
+	private int port;
+
+	@Value("${spring.threads.virtual.enabled:false}")
+	private boolean virtualThreads;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private PropertyAvailabilityIndex availabilityIndex;
+
+	private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(30)).build();
+	private final List<Long> bookingIds = new ArrayList<>();
+	private List<Long> propertyIds;
+
+	@BeforeAll
+	void seed() {
+		List<Object[]> rows = new ArrayList<>();
+		for (int i = 0; i < PROPERTIES; i++) {
+			rows.add(new Object[] { DESCRIPTION });
+		}
+		jdbcTemplate.batchUpdate("INSERT INTO property (id, manager_id, owner_id, description, version) "
+				+ "VALUES (NEXT VALUE FOR property_seq, 2, 3, ?, 0)", rows);
+		propertyIds = jdbcTemplate.queryForList("SELECT id FROM property WHERE description = ? ORDER BY id",
+				Long.class, DESCRIPTION);
+	}
+
+	@AfterAll
+	void cleanup() {
+		jdbcTemplate.update(
+				"DELETE FROM booking WHERE property_id IN (SELECT id FROM property WHERE description = ?)",
+				DESCRIPTION);
+		jdbcTemplate.update("DELETE FROM property WHERE description = ?", DESCRIPTION);
+		propertyIds.forEach(availabilityIndex::invalidate);
+	}
+
+	@Order(1)
+	@Test
+	@DisplayName("POST /v1/booking throughput and p99 latency")
+	void createBookingLoad() {
+		Result result = run(i -> {
+			LocalDate startDate = FIRST_DAY.plusDays(i / PROPERTIES * 3L);
+			String body = String.format(
+					"{\"property_id\":%d,\"user_id\":1,\"start_date\":\"%s\",\"end_date\":\"%s\"}",
+					propertyIds.get(i % PROPERTIES), startDate, startDate.plusDays(2));
+			return HttpRequest.newBuilder(uri("/v1/booking")).header("Content-Type", "application/json")
+					.POST(BodyPublishers.ofString(body)).build();
+		}, 201);
+		report("POST /v1/booking", result);
+		bookingIds.addAll(jdbcTemplate.queryForList(
+				"SELECT id FROM booking WHERE property_id IN (SELECT id FROM property WHERE description = ?)",
+				Long.class, DESCRIPTION));
+		assertThat(result.failures()).isZero();
+	}
+
+	@Order(2)
+	@Test
+	@DisplayName("GET /v1/booking/{id} throughput and p99 latency")
+	void findBookingLoad() {
+		assertThat(bookingIds).isNotEmpty();
+		Result result = run(i -> HttpRequest.newBuilder(uri("/v1/booking/" + bookingIds.get(i % bookingIds.size())))
+				.GET().build(), 200);
+		report("GET /v1/booking/{id}", result);
+		assertThat(result.failures()).isZero();
+	}
+
+	private Result run(IntFunction<HttpRequest> requests, int expectedStatus) {
+		Semaphore inFlight = new Semaphore(CONCURRENCY);
+		AtomicInteger failures = new AtomicInteger();
+		long[] latencies = new long[REQUESTS];
+		List<CompletableFuture<?>> futures = new ArrayList<>(REQUESTS);
+		long start = System.nanoTime();
+		for (int i = 0; i < REQUESTS; i++) {
+			inFlight.acquireUninterruptibly();
+			int index = i;
+			long sent = System.nanoTime();
+			futures.add(client.sendAsync(requests.apply(i), BodyHandlers.discarding()).whenComplete((response, e) -> {
+				latencies[index] = System.nanoTime() - sent;
+				if (e != null || response.statusCode() != expectedStatus) {
+					failures.incrementAndGet();
+				}
+				inFlight.release();
+			}).exceptionally(e -> null));
+		}
+		CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+		long elapsed = System.nanoTime() - start;
+		Arrays.sort(latencies);
+		return new Result(REQUESTS / (elapsed / 1_000_000_000.0),
+				latencies[(int) Math.ceil(REQUESTS * 0.99) - 1] / 1_000_000.0, failures.get());
+	}
+
+	private void report(String endpoint, Result result) {
+		System.out.printf("%s [%s threads, %d in flight]: %.0f req/s, p99 %.1f ms, %d failures%n", endpoint,
+				virtualThreads ? "virtual" : "platform", CONCURRENCY, result.throughput(), result.p99Millis(),
+				result.failures());
+	}
+
+	private URI uri(String path) {
+		return URI.create("http://localhost:" + port + path);
+	}
+
+	private record Result(double throughput, double p99Millis, int failures) {
+	}
+
+}
@@ -0,0 +1,129 @@
+package com.bookingapi.bookingapi.benchmark;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.TestInstance.Lifecycle;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.bookingapi.bookingapi.repository.BookingRepository;
+
+/**
+ * Seeds {@code -Dbenchmark.bookings} (default 1M) bookings in H2, checks the
+ * overlap lookup is resolved through the composite booking index and reports
+ * the average lookup time. Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@SpringBootTest
+@TestInstance(Lifecycle.PER_CLASS)
+class BookingOverlapQueryBenchmarkTest {
+
+	private static final int BOOKINGS = Integer.getInteger("benchmark.bookings", 1_000_000);
+	private static final int BOOKINGS_PER_PROPERTY = 1_000;
+	private static final int LOOKUPS = 10_000;
+	private static final LocalDate FIRST_DAY = LocalDate.of(2100, 1, 1);
+	private static final String DESCRIPTION = "overlap-benchmark";
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private BookingRepository bookingRepository;
+
+	private List<Long> propertyIds;
+
+	@BeforeAll
+	void seed() {
+		int properties = Math.max(1, BOOKINGS / BOOKINGS_PER_PROPERTY);
+		List<Object[]> propertyRows = new ArrayList<>();
+		for (int i = 0; i < properties; i++) {
+			propertyRows.add(new Object[] { DESCRIPTION });
+		}
+		jdbcTemplate.batchUpdate("INSERT INTO property (id, manager_id, owner_id, description, version) "
+				+ "VALUES (NEXT VALUE FOR property_seq, 2, 3, ?, 0)", propertyRows);
+		propertyIds = jdbcTemplate.queryForList("SELECT id FROM property WHERE description = ? ORDER BY id", Long.class,
+				DESCRIPTION);
+
+		String[] status = { "ACTIVE", "BLOCKED", "CANCELED" };
+		List<Object[]> bookingRows = new ArrayList<>();
+		for (Long propertyId : propertyIds) {
+			for (int i = 0; i < BOOKINGS_PER_PROPERTY; i++) {
+				LocalDate start = FIRST_DAY.plusDays(i * 3L);
+				bookingRows.add(new Object[] { Date.valueOf(start), Date.valueOf(start.plusDays(2)), propertyId,
+						status[i % status.length] });
+				if (bookingRows.size() == 10_000) {
+					insertBookings(bookingRows);
+				}
+			}
+		}
+		insertBookings(bookingRows);
+	}
+
+	@AfterAll
+	void cleanup() {
+		// one property at a time: a single delete of every seeded booking runs the in-memory database out of memory
+		jdbcTemplate.batchUpdate("DELETE FROM booking WHERE property_id = ?",
+				propertyIds.stream().map(propertyId -> new Object[] { propertyId }).toList());
+		jdbcTemplate.update("DELETE FROM property WHERE description = ?", DESCRIPTION);
+	}
+
+	@Test
+	@DisplayName("Overlap lookup uses the (property_id, status, start_date, end_date) index")
+	void overlapQueryUsesCompositeIndex() {
+		String plan = jdbcTemplate.queryForObject(
+				"EXPLAIN SELECT b.id FROM booking b WHERE b.property_id = ? AND b.status IN ('ACTIVE','BLOCKED') "
+						+ "AND b.start_date < ? AND b.end_date > ?",
+				String.class, propertyIds.get(0), Date.valueOf(FIRST_DAY.plusDays(10)),
+				Date.valueOf(FIRST_DAY.plusDays(5)));
+		assertThat(plan).containsIgnoringCase("IDX_BOOKING_PROPERTY_STATUS_DATES");
+	}
+
+	@Test
+	@DisplayName("Average conflict check time")
+	void overlapQueryLatency() {
+		Random random = new Random(7);
+		for (int i = 0; i < 1_000; i++) {
+			lookup(random);
+		}
+		long start = System.nanoTime();
+		int found = 0;
+		for (int i = 0; i < LOOKUPS; i++) {
+			found += lookup(random);
+		}
+		long elapsed = System.nanoTime() - start;
+		System.out.printf("%d bookings, %d lookups, %d conflicts, avg %.1f us/lookup%n", BOOKINGS, LOOKUPS, found,
+				elapsed / 1_000.0 / LOOKUPS);
+		assertThat(found).isPositive();
+	}
+
+	private int lookup(Random random) {
+		Long propertyId = propertyIds.get(random.nextInt(propertyIds.size()));
+		LocalDate start = FIRST_DAY.plusDays(random.nextInt(BOOKINGS_PER_PROPERTY * 3));
+		// the conflict check the validator runs when the availability index is disabled
+		boolean conflict = bookingRepository.existsBlockFromPropertyBetweenDates(propertyId, start, start.plusDays(7),
+				null);
+		return conflict ? 1 : 0;
+	}
+
+	private void insertBookings(List<Object[]> rows) {
+		jdbcTemplate.batchUpdate(
+				"INSERT INTO booking (id, start_date, end_date, property_id, user_id, status, version) "
+						+ "VALUES (NEXT VALUE FOR booking_seq, ?, ?, ?, 1, ?, 0)",
+				rows);
+		rows.clear();
+	}
+
+}
@@ -0,0 +1,145 @@
+package com.bookingapi.bookingapi.benchmark;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.TestInstance.Lifecycle;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultMatcher;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import com.bookingapi.bookingapi.model.dto.responsebody.BookingResponseDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Pooled connections borrowed, transactions committed and statements issued per
+ * request of each endpoint, with the user, property and booking caches cleared
+ * before every request so the database path is measured. A statement run
+ * outside a transaction commits on its own and is not counted as a transaction. Run with
+ * {@code mvn test -Pbenchmark -Dtest=ConnectionUsageBenchmarkTest}.
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = { "spring.jpa.show-sql=false", "spring.jpa.properties.hibernate.generate_statistics=true",
+		"logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=WARN" })
+@TestInstance(Lifecycle.PER_CLASS)
+class ConnectionUsageBenchmarkTest {
+
+	private static final int REQUESTS = Integer.getInteger("benchmark.requests", 200);
+	private static final long ID_USER_GUEST = 7L;
+	private static final long ID_USER_MANAGER = 8L;
+	private static final long ID_USER_OWNER = 9L;
+	private static final long ID_PROPERTY_3 = 3L;
+	private static final LocalDate FIRST_DAY = LocalDate.of(2300, 1, 1);
+	private static final String DESCRIPTION = "connection-benchmark";
+
+	@Autowired
+	private WebApplicationContext webApplicationContext;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Autowired
+	private CacheManager cacheManager;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+	private final List<Long> bookingIds = new ArrayList<>();
+	private MockMvc mockMvc;
+
+	@BeforeAll
+	void setup() {
+		mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext).build();
+	}
+
+	@AfterAll
+	void cleanup() {
+		jdbcTemplate.update("DELETE FROM property WHERE description = ?", DESCRIPTION);
+	}
+
+	@Test
+	@DisplayName("Connections borrowed, transactions and statements per request")
+	void connectionUsage() throws Exception {
+		measure("GET /v1/user/{id}", i -> get("/v1/user/{id}", ID_USER_GUEST), status().isOk());
+		measure("GET /v1/property", i -> get("/v1/property"), status().isOk());
+		measure("GET /v1/property/{id}/availability", i -> get("/v1/property/{id}/availability", ID_PROPERTY_3)
+				.param("from", "2300-01-01").param("to", "2300-06-01"), status().isOk());
+		measure("GET /v1/property/search/available",
+				i -> get("/v1/property/search/available").param("start", "2300-01-01").param("end", "2300-01-03"),
+				status().isOk());
+		measure("POST /v1/property", i -> post("/v1/property").contentType(MediaType.APPLICATION_JSON)
+				.content(String.format("{\"description\":\"%s\",\"manager_id\":%d,\"owner_id\":%d}", DESCRIPTION,
+						ID_USER_MANAGER, ID_USER_OWNER)),
+				status().isCreated());
+		measure("POST /v1/booking", i -> {
+			LocalDate startDate = FIRST_DAY.plusDays(i * 3L);
+			return post("/v1/booking").contentType(MediaType.APPLICATION_JSON)
+					.content(String.format("{\"property_id\":%d,\"user_id\":%d,\"start_date\":\"%s\",\"end_date\":\"%s\"}",
+							ID_PROPERTY_3, ID_USER_GUEST, startDate, startDate.plusDays(2)));
+		}, result -> bookingIds.add(objectMapper
+				.readValue(result.getResponse().getContentAsString(), BookingResponseDTO.class).id()));
+		measure("GET /v1/booking/{id}", i -> get("/v1/booking/{id}", bookingIds.get(i)), status().isOk());
+		measure("PUT /v1/booking/cancel", i -> put("/v1/booking/cancel").param("id", bookingIds.get(i).toString())
+				.param("userId", String.valueOf(ID_USER_GUEST)), status().isOk());
+		measure("DELETE /v1/booking/{id}", i -> delete("/v1/booking/{id}", bookingIds.get(i)).param("userId",
+				String.valueOf(ID_USER_GUEST)), status().isNoContent());
+	}
+
+	private void measure(String endpoint, Request request, ResultMatcher expectation) throws Exception {
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		long connections = 0;
+		long commits = 0;
+		long statements = 0;
+		for (int i = 0; i < REQUESTS; i++) {
+			cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+			long acquiredBefore = acquiredConnections();
+			statistics.clear();
+			mockMvc.perform(request.build(i)).andExpect(expectation);
+			connections += acquiredConnections() - acquiredBefore;
+			commits += statistics.getSuccessfulTransactionCount();
+			statements += statistics.getPrepareStatementCount();
+		}
+		System.out.printf("%-36s %.2f connections, %.2f transactions, %.2f statements per request%n", endpoint,
+				(double) connections / REQUESTS, (double) commits / REQUESTS, (double) statements / REQUESTS);
+	}
+
+	private long acquiredConnections() {
+		return meterRegistry.get("hikaricp.connections.acquire").timer().count();
+	}
+
+	@FunctionalInterface
+	private interface Request {
+		RequestBuilder build(int index) throws Exception;
+	}
+
+}
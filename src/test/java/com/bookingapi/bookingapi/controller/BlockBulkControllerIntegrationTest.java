@@ -0,0 +1,156 @@
+package com.bookingapi.bookingapi.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.ResultActions;
+
+import com.bookingapi.bookingapi.enumerator.BookingStatus;
+import com.bookingapi.bookingapi.model.dto.requestbody.BulkBlockDTO;
+import com.bookingapi.bookingapi.model.dto.requestbody.CreateBookingDTO;
+import com.bookingapi.bookingapi.model.dto.requestbody.PropertyDTO;
+import com.bookingapi.bookingapi.model.dto.responsebody.BookingResponseDTO;
+import com.bookingapi.bookingapi.service.BookingService;
+import com.bookingapi.bookingapi.service.PropertyService;
+import com.fasterxml.jackson.core.type.TypeReference;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+class BlockBulkControllerIntegrationTest extends TestController {
+
+	private static final long ID_USER_GUEST = 7L;
+	private static final long ID_USER_MANAGER = 8L;
+	private static final long ID_USER_OWNER = 9L;
+	private static final long ID_PROPERTY_1 = 1L;
+	private static final long ID_PROPERTY_3 = 3L;
+	private static final LocalDate START_DATE = LocalDate.of(2090, 1, 1);
+	private static final LocalDate END_DATE = LocalDate.of(2090, 1, 10);
+
+	private static Long secondPropertyId;
+
+	@Autowired
+	private BookingService bookingService;
+
+	@Autowired
+	private PropertyService propertyService;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@BeforeEach
+	void createSecondProperty() {
+		if (secondPropertyId == null) {
+			secondPropertyId = propertyService.create(PropertyDTO.builder().description("Bulk block property")
+					.managerId(ID_USER_MANAGER).ownerId(ID_USER_OWNER).build()).id();
+		}
+	}
+
+	@Test
+	@DisplayName("Blocking many properties replaces the overlapping canceled bookings")
+	void createBlocks() throws Exception {
+		// Preparing
+		Long canceledBookingId = createBooking(START_DATE.plusDays(2), START_DATE.plusDays(4));
+		bookingService.cancelBooking(canceledBookingId, ID_USER_GUEST);
+		BulkBlockDTO payload = buildPayload(List.of(ID_PROPERTY_3, secondPropertyId), ID_USER_MANAGER);
+		// Executing
+		String content = perform(payload).andExpect(status().isOk()).andReturn().getResponse().getContentAsString();
+		List<BookingResponseDTO> blocks = objMapper.readValue(content, new TypeReference<List<BookingResponseDTO>>() {
+		});
+		// Validating
+		assertThat(blocks).hasSize(2).extracting(BookingResponseDTO::status).containsOnly(BookingStatus.BLOCKED);
+		mockMvc.perform(get("/v1/booking/{id}", canceledBookingId)).andExpect(status().isNotFound());
+		mockMvc.perform(get("/actuator/metrics/{name}", BookingService.METRIC_CANCELED_BOOKINGS_DELETED))
+				.andExpect(status().isOk()).andExpect(jsonPath("$.measurements[0].value").value(greaterThan(0.0)));
+		blocks.forEach(block -> bookingService.deleteBlock(block.id(), ID_USER_MANAGER));
+	}
+
+	@Test
+	@DisplayName("The canceled bookings counted as deleted are the rows the block removed")
+	void createBlocksCountsDeletedRows() throws Exception {
+		// Preparing
+		bookingService.cancelBooking(createBooking(START_DATE, START_DATE.plusDays(2)), ID_USER_GUEST);
+		bookingService.cancelBooking(createBooking(START_DATE.plusDays(3), START_DATE.plusDays(5)), ID_USER_GUEST);
+		// the same dates, canceled twice, are two rows
+		bookingService.cancelBooking(createBooking(START_DATE.plusDays(3), START_DATE.plusDays(5)), ID_USER_GUEST);
+		int canceledBefore = countCanceledBookings();
+		double deletedBefore = meterRegistry.counter(BookingService.METRIC_CANCELED_BOOKINGS_DELETED).count();
+		// Executing
+		String content = perform(buildPayload(List.of(ID_PROPERTY_3, secondPropertyId), ID_USER_MANAGER))
+				.andExpect(status().isOk()).andReturn().getResponse().getContentAsString();
+		List<BookingResponseDTO> blocks = objMapper.readValue(content, new TypeReference<List<BookingResponseDTO>>() {
+		});
+		// Validating
+		int rowsDeleted = canceledBefore - countCanceledBookings();
+		assertEquals(3, rowsDeleted);
+		assertEquals(rowsDeleted,
+				meterRegistry.counter(BookingService.METRIC_CANCELED_BOOKINGS_DELETED).count() - deletedBefore);
+		blocks.forEach(block -> bookingService.deleteBlock(block.id(), ID_USER_MANAGER));
+	}
+
+	@Test
+	@DisplayName("Blocking many properties when one of them has an active booking creates no block")
+	void createBlocksWithActiveBooking() throws Exception {
+		// Preparing
+		Long activeBookingId = createBooking(START_DATE.plusDays(5), START_DATE.plusDays(6));
+		BulkBlockDTO payload = buildPayload(List.of(secondPropertyId, ID_PROPERTY_3), ID_USER_MANAGER);
+		// Executing and Validating
+		perform(payload).andExpect(status().isBadRequest());
+		// nothing was inserted for the property without conflicts
+		String content = perform(buildPayload(List.of(secondPropertyId), ID_USER_MANAGER))
+				.andExpect(status().isOk()).andReturn().getResponse().getContentAsString();
+		List<BookingResponseDTO> blocks = objMapper.readValue(content, new TypeReference<List<BookingResponseDTO>>() {
+		});
+		blocks.forEach(block -> bookingService.deleteBlock(block.id(), ID_USER_MANAGER));
+		bookingService.delete(activeBookingId, ID_USER_GUEST);
+	}
+
+	@Test
+	@DisplayName("Blocking a property the user doesn't manage")
+	void createBlocksWithoutPermission() throws Exception {
+		perform(buildPayload(List.of(ID_PROPERTY_3, ID_PROPERTY_1), ID_USER_MANAGER)).andExpect(status().isForbidden());
+	}
+
+	@Test
+	@DisplayName("Blocking an unknown property or no property at all")
+	void createBlocksInvalid() throws Exception {
+		perform(buildPayload(List.of(ID_PROPERTY_3, 999L), ID_USER_MANAGER)).andExpect(status().isNotFound());
+		perform(buildPayload(List.of(), ID_USER_MANAGER)).andExpect(status().isBadRequest());
+	}
+
+	private ResultActions perform(BulkBlockDTO payload) throws Exception {
+		return mockMvc.perform(post("/v1/booking/block/bulk").contentType(MediaType.APPLICATION_JSON_VALUE)
+				.content(objMapper.writeValueAsString(payload)));
+	}
+
+	private BulkBlockDTO buildPayload(List<Long> propertyIds, long userId) {
+		return BulkBlockDTO.builder().propertyIds(propertyIds).userId(userId).startDate(START_DATE).endDate(END_DATE)
+				.details("Maintenance").build();
+	}
+
+	private int countCanceledBookings() {
+		return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM booking WHERE status = 'CANCELED'", Integer.class);
+	}
+
+	private Long createBooking(LocalDate startDate, LocalDate endDate) {
+		return bookingService.createBooking(CreateBookingDTO.builder().propertyId(ID_PROPERTY_3).startDate(startDate)
+				.endDate(endDate).userId(ID_USER_GUEST).build()).id();
+	}
+
+}
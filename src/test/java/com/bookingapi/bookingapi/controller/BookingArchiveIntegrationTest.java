@@ -0,0 +1,136 @@
+package com.bookingapi.bookingapi.controller;
+
+import static org.hamcrest.Matchers.greaterThan;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDate;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.bookingapi.bookingapi.service.archive.BookingArchiveJob;
+
+class BookingArchiveIntegrationTest extends TestController {
+
+	private static final long ID_USER_GUEST = 7L;
+	private static final long ID_PROPERTY_3 = 3L;
+	// explicit ids far above the ones handed out by booking_seq
+	private static final long FIRST_BOOKING_ID = 1_000_000_000L;
+
+	@Autowired
+	private BookingArchiveJob archiveJob;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Test
+	@DisplayName("Bookings ended before the horizon move to the archive and stay readable but not writable")
+	void archiveEndedBookings() throws Exception {
+		// Preparing
+		insertBooking(FIRST_BOOKING_ID, LocalDate.of(2000, 1, 1), LocalDate.of(2000, 1, 5), "ACTIVE");
+		insertBooking(FIRST_BOOKING_ID + 1, LocalDate.of(2000, 2, 1), LocalDate.of(2000, 2, 3), "CANCELED");
+		insertBooking(FIRST_BOOKING_ID + 2, LocalDate.of(2000, 12, 30), LocalDate.of(2001, 1, 2), "ACTIVE");
+		// Executing
+		int archived = archiveJob.archiveEndedBefore(LocalDate.of(2001, 1, 1));
+		// Validating
+		assertEquals(2, archived);
+		assertEquals(0, countBookings("booking", FIRST_BOOKING_ID, FIRST_BOOKING_ID + 1));
+		assertEquals(2, countBookings("booking_archive", FIRST_BOOKING_ID, FIRST_BOOKING_ID + 1));
+		mockMvc.perform(get("/v1/booking/{id}", FIRST_BOOKING_ID)).andExpect(status().isOk())
+				.andExpect(jsonPath("$.start_date").value("2000-01-01"))
+				.andExpect(jsonPath("$.email_user").value("guest3@email.com"));
+		mockMvc.perform(put("/v1/booking/cancel").param("id", String.valueOf(FIRST_BOOKING_ID)).param("userId",
+				String.valueOf(ID_USER_GUEST))).andExpect(status().isNotFound());
+		mockMvc.perform(delete("/v1/booking/{id}", FIRST_BOOKING_ID).param("userId", String.valueOf(ID_USER_GUEST)))
+				.andExpect(status().isNotFound());
+		mockMvc.perform(get("/v1/booking/{id}", FIRST_BOOKING_ID + 2)).andExpect(status().isOk());
+		mockMvc.perform(get("/actuator/metrics/{name}", BookingArchiveJob.METRIC_BOOKINGS_ARCHIVED))
+				.andExpect(status().isOk()).andExpect(jsonPath("$.measurements[0].value").value(greaterThan(0.0)));
+		jdbcTemplate.update("DELETE FROM booking WHERE id = ?", FIRST_BOOKING_ID + 2);
+	}
+
+	@Test
+	@DisplayName("The manifests of the dates of archived bookings no longer list them")
+	void archiveEvictsManifests() throws Exception {
+		// Preparing
+		long bookingId = FIRST_BOOKING_ID + 20;
+		insertBooking(bookingId, LocalDate.of(2000, 4, 1), LocalDate.of(2000, 4, 3), "ACTIVE");
+		mockMvc.perform(get("/v1/booking/manifest").param("date", "2000-04-01")).andExpect(status().isOk())
+				.andExpect(jsonPath("$.properties[0].arrivals[0].id").value(bookingId));
+		mockMvc.perform(get("/v1/booking/manifest").param("date", "2000-04-03")).andExpect(status().isOk())
+				.andExpect(jsonPath("$.properties[0].departures[0].id").value(bookingId));
+		// Executing
+		archiveJob.archiveEndedBefore(LocalDate.of(2001, 1, 1));
+		// Validating
+		mockMvc.perform(get("/v1/booking/manifest").param("date", "2000-04-01")).andExpect(status().isOk())
+				.andExpect(jsonPath("$.properties.length()").value(0));
+		mockMvc.perform(get("/v1/booking/manifest").param("date", "2000-04-03")).andExpect(status().isOk())
+				.andExpect(jsonPath("$.properties.length()").value(0));
+	}
+
+	@Test
+	@DisplayName("A booking moved past the horizon while the archive reads it stays a live booking")
+	void archiveRacingWithRebook() throws Exception {
+		// Preparing
+		long bookingId = FIRST_BOOKING_ID + 10;
+		insertBooking(bookingId, LocalDate.of(2000, 3, 1), LocalDate.of(2000, 3, 3), "CANCELED");
+		CountDownLatch rebooked = new CountDownLatch(1);
+		CountDownLatch archiving = new CountDownLatch(1);
+		CompletableFuture<Void> rebook = CompletableFuture.runAsync(() -> transactionTemplate.executeWithoutResult(
+				status -> {
+					jdbcTemplate.update("UPDATE booking SET start_date = ?, end_date = ?, status = 'ACTIVE', "
+							+ "version = version + 1 WHERE id = ?", LocalDate.of(2084, 3, 1), LocalDate.of(2084, 3, 3),
+							bookingId);
+					rebooked.countDown();
+					await(archiving);
+				}));
+		rebooked.await();
+		// Executing
+		CompletableFuture<Integer> archive = CompletableFuture
+				.supplyAsync(() -> archiveJob.archiveEndedBefore(LocalDate.of(2001, 1, 1)));
+		// the archive reads the candidates while the rebook is still uncommitted
+		Thread.sleep(200);
+		archiving.countDown();
+		rebook.join();
+		archive.join();
+		// Validating
+		assertEquals(1, countBookings("booking", bookingId, bookingId));
+		assertEquals(0, countBookings("booking_archive", bookingId, bookingId));
+		mockMvc.perform(get("/v1/booking/{id}", bookingId)).andExpect(status().isOk())
+				.andExpect(jsonPath("$.start_date").value("2084-03-01"));
+		jdbcTemplate.update("DELETE FROM booking WHERE id = ?", bookingId);
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private void insertBooking(long id, LocalDate startDate, LocalDate endDate, String status) {
+		jdbcTemplate.update("INSERT INTO booking (id, start_date, end_date, property_id, user_id, status, version) "
+				+ "VALUES (?, ?, ?, ?, ?, ?, 0)", id, startDate, endDate, ID_PROPERTY_3, ID_USER_GUEST, status);
+	}
+
+	private int countBookings(String table, long firstId, long lastId) {
+		return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table + " WHERE id BETWEEN ? AND ?", Integer.class,
+				firstId, lastId);
+	}
+
+}
@@ -0,0 +1,74 @@
+package com.bookingapi.bookingapi.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+
+import com.bookingapi.bookingapi.model.dto.requestbody.CreateBookingDTO;
+import com.bookingapi.bookingapi.model.dto.responsebody.BookingBatchResultDTO;
+import com.bookingapi.bookingapi.service.BookingService;
+import com.fasterxml.jackson.core.type.TypeReference;
+
+class BookingBatchControllerIntegrationTest extends TestController {
+
+	private static final long ID_USER_GUEST = 7L;
+	private static final long ID_USER_MANAGER = 8L;
+	private static final long ID_PROPERTY_3 = 3L;
+
+	@Autowired
+	private BookingService bookingService;
+
+	@Test
+	@DisplayName("Creating a batch of bookings reports the result of each item")
+	void createBatch() throws Exception {
+		// Preparing
+		Long storedBookingId = bookingService.createBooking(buildBooking(ID_USER_GUEST, LocalDate.of(2095, 1, 1),
+				LocalDate.of(2095, 1, 5))).id();
+		List<CreateBookingDTO> batch = List.of(
+				buildBooking(ID_USER_GUEST, LocalDate.of(2095, 2, 1), LocalDate.of(2095, 2, 5)),
+				buildBooking(ID_USER_GUEST, LocalDate.of(2095, 1, 4), LocalDate.of(2095, 1, 6)),
+				buildBooking(ID_USER_GUEST, LocalDate.of(2095, 2, 4), LocalDate.of(2095, 2, 6)),
+				buildBooking(ID_USER_MANAGER, LocalDate.of(2095, 3, 1), LocalDate.of(2095, 3, 5)),
+				buildBooking(ID_USER_GUEST, LocalDate.of(2095, 2, 5), LocalDate.of(2095, 2, 8)),
+				CreateBookingDTO.builder().propertyId(ID_PROPERTY_3).userId(ID_USER_GUEST).build());
+		// Executing
+		String content = mockMvc
+				.perform(post("/v1/booking/batch").contentType(MediaType.APPLICATION_JSON_VALUE)
+						.content(objMapper.writeValueAsString(batch)))
+				.andExpect(status().isOk()).andReturn().getResponse().getContentAsString();
+		List<BookingBatchResultDTO> results = objMapper.readValue(content,
+				new TypeReference<List<BookingBatchResultDTO>>() {
+				});
+		// Validating
+		assertThat(results).extracting(BookingBatchResultDTO::status).containsExactly(HttpStatus.CREATED.value(),
+				HttpStatus.BAD_REQUEST.value(), HttpStatus.BAD_REQUEST.value(), HttpStatus.BAD_REQUEST.value(),
+				HttpStatus.CREATED.value(), HttpStatus.BAD_REQUEST.value());
+		assertThat(results.get(0).booking().id()).isNotNull();
+		assertThat(results.get(5).message()).contains("startDate", "endDate");
+		bookingService.delete(storedBookingId, ID_USER_GUEST);
+		bookingService.delete(results.get(0).booking().id(), ID_USER_GUEST);
+		bookingService.delete(results.get(4).booking().id(), ID_USER_GUEST);
+	}
+
+	@Test
+	@DisplayName("Creating an empty batch of bookings")
+	void createEmptyBatch() throws Exception {
+		mockMvc.perform(post("/v1/booking/batch").contentType(MediaType.APPLICATION_JSON_VALUE).content("[]"))
+				.andExpect(status().isBadRequest());
+	}
+
+	private CreateBookingDTO buildBooking(long userId, LocalDate startDate, LocalDate endDate) {
+		return CreateBookingDTO.builder().propertyId(ID_PROPERTY_3).userId(userId).startDate(startDate)
+				.endDate(endDate).build();
+	}
+
+}
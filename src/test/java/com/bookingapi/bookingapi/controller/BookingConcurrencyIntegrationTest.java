@@ -0,0 +1,101 @@
+package com.bookingapi.bookingapi.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Queue;
+import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import com.bookingapi.bookingapi.exception.BusinessException;
+import com.bookingapi.bookingapi.model.dto.requestbody.CreateBookingDTO;
+import com.bookingapi.bookingapi.model.projection.BookingInterval;
+import com.bookingapi.bookingapi.repository.BookingRepository;
+import com.bookingapi.bookingapi.service.BookingService;
+
+/**
+ * 64 threads booking random, mostly overlapping, dates of the same property at
+ * the same time. Uses property 3 and guest 7.
+ */
+class BookingConcurrencyIntegrationTest extends TestController {
+
+	private static final long ID_USER_GUEST = 7L;
+	private static final long ID_PROPERTY_3 = 3L;
+	private static final int THREADS = 64;
+	private static final int ATTEMPTS_PER_THREAD = 10;
+	private static final LocalDate FIRST_DAY = LocalDate.of(2094, 1, 1);
+	private static final int DAYS = 120;
+
+	@Autowired
+	private BookingService bookingService;
+
+	@Autowired
+	private BookingRepository bookingRepository;
+
+	@Test
+	@DisplayName("Concurrent bookings of the same property never overlap")
+	void concurrentBookingsNeverOverlap() throws Exception {
+		// Preparing
+		Queue<Long> createdIds = new ConcurrentLinkedQueue<>();
+		Queue<Throwable> unexpectedErrors = new ConcurrentLinkedQueue<>();
+		CountDownLatch start = new CountDownLatch(1);
+		ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+		for (int thread = 0; thread < THREADS; thread++) {
+			Random random = new Random(thread);
+			executor.execute(() -> {
+				awaitQuietly(start);
+				for (int attempt = 0; attempt < ATTEMPTS_PER_THREAD; attempt++) {
+					LocalDate startDate = FIRST_DAY.plusDays(random.nextInt(DAYS));
+					try {
+						createdIds.add(bookingService.createBooking(CreateBookingDTO.builder().propertyId(ID_PROPERTY_3)
+								.userId(ID_USER_GUEST).startDate(startDate)
+								.endDate(startDate.plusDays(1 + random.nextInt(4))).build()).id());
+					} catch (BusinessException e) {
+						// rejected as unavailable, expected for most attempts
+					} catch (Throwable e) {
+						unexpectedErrors.add(e);
+					}
+				}
+			});
+		}
+		// Executing
+		start.countDown();
+		executor.shutdown();
+		assertThat(executor.awaitTermination(2, TimeUnit.MINUTES)).isTrue();
+		// Validating
+		List<BookingInterval> stored = new ArrayList<>(bookingRepository
+				.findBlockIntervalsFromPropertyBetweenDates(ID_PROPERTY_3, FIRST_DAY, FIRST_DAY.plusDays(DAYS + 5)));
+		stored.sort(Comparator.comparing(BookingInterval::startDate));
+		try {
+			assertThat(unexpectedErrors).isEmpty();
+			assertThat(createdIds).isNotEmpty();
+			assertThat(stored).hasSameSizeAs(createdIds);
+			for (int i = 1; i < stored.size(); i++) {
+				assertThat(stored.get(i).startDate()).as("booking %s overlaps %s", stored.get(i).id(),
+						stored.get(i - 1).id()).isAfterOrEqualTo(stored.get(i - 1).endDate());
+			}
+		} finally {
+			createdIds.forEach(id -> bookingService.delete(id, ID_USER_GUEST));
+		}
+	}
+
+	private static void awaitQuietly(CountDownLatch latch) {
+		try {
+			latch.await();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+}
@@ -0,0 +1,13 @@
+package com.bookingapi.bookingapi.controller;
+
+import org.springframework.test.context.TestPropertySource;
+
+/**
+ * Same scenario checking availability against the database only, on its own
+ * in-memory database so the shared one is not recreated.
+ */
+@TestPropertySource(properties = { "booking.availability-index.enabled=false",
+		"spring.datasource.url=jdbc:h2:mem:concurrencydb" })
+class BookingConcurrencyWithoutIndexIntegrationTest extends BookingConcurrencyIntegrationTest {
+
+}
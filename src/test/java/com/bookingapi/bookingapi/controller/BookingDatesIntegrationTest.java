@@ -0,0 +1,118 @@
+package com.bookingapi.bookingapi.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import com.bookingapi.bookingapi.model.dto.requestbody.BlockDTO;
+import com.bookingapi.bookingapi.model.dto.requestbody.BulkBlockDTO;
+import com.bookingapi.bookingapi.model.dto.requestbody.CreateBookingDTO;
+import com.bookingapi.bookingapi.model.dto.requestbody.RebookingCanceledDTO;
+import com.bookingapi.bookingapi.model.dto.requestbody.UpdateBookingDTO;
+import com.bookingapi.bookingapi.model.dto.responsebody.BookingBatchResultDTO;
+import com.bookingapi.bookingapi.service.BookingService;
+import com.fasterxml.jackson.core.type.TypeReference;
+
+/**
+ * A booking or block covers the nights of [startDate, endDate): one starting
+ * and ending on the same day covers no night, so it is rejected by every write.
+ */
+class BookingDatesIntegrationTest extends TestController {
+
+	private static final String MSG_INVALID_DATES = "StartDate must be before EndDate";
+	private static final long ID_USER_GUEST = 7L;
+	private static final long ID_USER_MANAGER = 8L;
+	private static final long ID_PROPERTY_3 = 3L;
+	private static final LocalDate START_DATE = LocalDate.of(2085, 1, 10);
+	private static final LocalDate END_DATE = LocalDate.of(2085, 1, 15);
+
+	@Autowired
+	private BookingService bookingService;
+
+	@Test
+	@DisplayName("Creating a booking, or a batch item, starting and ending on the same day")
+	void createBookingWithoutNights() throws Exception {
+		// Preparing
+		Long bookingId = bookingService.createBooking(buildBooking(START_DATE, END_DATE)).id();
+		// Executing and Validating
+		perform(post("/v1/booking"), buildBooking(START_DATE, START_DATE)).andExpect(status().isBadRequest())
+				.andExpect(jsonPath("$.message").value(MSG_INVALID_DATES));
+		perform(post("/v1/booking"), buildBooking(END_DATE.plusDays(1), END_DATE.plusDays(1)))
+				.andExpect(status().isBadRequest()).andExpect(jsonPath("$.message").value(MSG_INVALID_DATES));
+		String content = perform(post("/v1/booking/batch"),
+				List.of(buildBooking(END_DATE.plusDays(1), END_DATE.plusDays(1)),
+						buildBooking(END_DATE.plusDays(1), END_DATE.plusDays(1))))
+				.andExpect(status().isOk()).andReturn().getResponse().getContentAsString();
+		List<BookingBatchResultDTO> results = objMapper.readValue(content,
+				new TypeReference<List<BookingBatchResultDTO>>() {
+				});
+		assertThat(results).extracting(BookingBatchResultDTO::status).containsOnly(HttpStatus.BAD_REQUEST.value());
+		assertThat(results).extracting(BookingBatchResultDTO::message).containsOnly(MSG_INVALID_DATES);
+		bookingService.delete(bookingId, ID_USER_GUEST);
+	}
+
+	@Test
+	@DisplayName("Updating or rebooking a booking to start and end on the same day")
+	void updateBookingWithoutNights() throws Exception {
+		// Preparing
+		Long bookingId = bookingService.createBooking(buildBooking(START_DATE, END_DATE)).id();
+		Long canceledBookingId = bookingService
+				.createBooking(buildBooking(END_DATE.plusDays(5), END_DATE.plusDays(6))).id();
+		bookingService.cancelBooking(canceledBookingId, ID_USER_GUEST);
+		// Executing and Validating
+		perform(put("/v1/booking/{id}", bookingId),
+				UpdateBookingDTO.builder().startDate(START_DATE).endDate(START_DATE).userId(ID_USER_GUEST).build())
+				.andExpect(status().isBadRequest()).andExpect(jsonPath("$.message").value(MSG_INVALID_DATES));
+		perform(put("/v1/booking/rebook/{bookingId}", canceledBookingId),
+				RebookingCanceledDTO.builder().startDate(END_DATE).endDate(END_DATE).userId(ID_USER_GUEST).build())
+				.andExpect(status().isBadRequest()).andExpect(jsonPath("$.message").value(MSG_INVALID_DATES));
+		bookingService.delete(bookingId, ID_USER_GUEST);
+		bookingService.delete(canceledBookingId, ID_USER_GUEST);
+	}
+
+	@Test
+	@DisplayName("Creating or updating a block to start and end on the same day")
+	void blockWithoutNights() throws Exception {
+		// Preparing
+		Long blockId = bookingService.createBlock(buildBlock(START_DATE, END_DATE)).id();
+		// Executing and Validating
+		perform(post("/v1/booking/block"), buildBlock(END_DATE, END_DATE)).andExpect(status().isBadRequest())
+				.andExpect(jsonPath("$.message").value(MSG_INVALID_DATES));
+		perform(post("/v1/booking/block/bulk"),
+				BulkBlockDTO.builder().propertyIds(List.of(ID_PROPERTY_3)).userId(ID_USER_MANAGER)
+						.startDate(END_DATE).endDate(END_DATE).build())
+				.andExpect(status().isBadRequest()).andExpect(jsonPath("$.message").value(MSG_INVALID_DATES));
+		perform(put("/v1/booking/block/{bookingId}", blockId), buildBlock(START_DATE, START_DATE))
+				.andExpect(status().isBadRequest()).andExpect(jsonPath("$.message").value(MSG_INVALID_DATES));
+		bookingService.deleteBlock(blockId, ID_USER_MANAGER);
+	}
+
+	private ResultActions perform(MockHttpServletRequestBuilder request, Object payload) throws Exception {
+		return mockMvc.perform(
+				request.contentType(MediaType.APPLICATION_JSON_VALUE).content(objMapper.writeValueAsString(payload)));
+	}
+
+	private CreateBookingDTO buildBooking(LocalDate startDate, LocalDate endDate) {
+		return CreateBookingDTO.builder().propertyId(ID_PROPERTY_3).userId(ID_USER_GUEST).startDate(startDate)
+				.endDate(endDate).build();
+	}
+
+	private BlockDTO buildBlock(LocalDate startDate, LocalDate endDate) {
+		return BlockDTO.builder().propertyId(ID_PROPERTY_3).userId(ID_USER_MANAGER).startDate(startDate)
+				.endDate(endDate).build();
+	}
+
+}
@@ -0,0 +1,80 @@
+package com.bookingapi.bookingapi.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MvcResult;
+
+import com.bookingapi.bookingapi.model.dto.requestbody.CreateBookingDTO;
+import com.bookingapi.bookingapi.model.dto.responsebody.BookingSummaryDTO;
+import com.bookingapi.bookingapi.service.BookingService;
+import com.fasterxml.jackson.core.type.TypeReference;
+
+class BookingListingIntegrationTest extends TestController {
+
+	private static final long ID_USER_GUEST = 7L;
+	private static final long ID_PROPERTY_3 = 3L;
+
+	@Autowired
+	private BookingService bookingService;
+
+	@Test
+	@DisplayName("List the bookings of a property in a date window, page by page")
+	void findBookings() throws Exception {
+		// Preparing
+		Long firstBookingId = createBooking(LocalDate.of(2088, 1, 1), LocalDate.of(2088, 1, 3));
+		Long secondBookingId = createBooking(LocalDate.of(2088, 2, 1), LocalDate.of(2088, 2, 3));
+		Long canceledBookingId = createBooking(LocalDate.of(2088, 3, 1), LocalDate.of(2088, 3, 3));
+		bookingService.cancelBooking(canceledBookingId, ID_USER_GUEST);
+		// Executing
+		MvcResult firstPage = mockMvc.perform(get("/v1/booking").param("propertyId", String.valueOf(ID_PROPERTY_3))
+				.param("from", "2088-01-01").param("to", "2089-01-01").param("limit", "2")).andExpect(status().isOk())
+				.andExpect(header().string(HttpHeaders.LINK,
+						containsString("after=" + ID_PROPERTY_3 + ":2088-02-01:" + secondBookingId)))
+				.andReturn();
+		String secondPage = mockMvc.perform(get("/v1/booking").param("propertyId", String.valueOf(ID_PROPERTY_3))
+				.param("from", "2088-01-01").param("to", "2089-01-01").param("limit", "2")
+				.param("after", ID_PROPERTY_3 + ":2088-02-01:" + secondBookingId)).andExpect(status().isOk())
+				.andExpect(header().doesNotExist(HttpHeaders.LINK)).andReturn().getResponse().getContentAsString();
+		// Validating
+		assertThat(read(firstPage.getResponse().getContentAsString())).extracting(BookingSummaryDTO::id)
+				.containsExactly(firstBookingId, secondBookingId);
+		assertThat(read(secondPage)).singleElement().hasFieldOrPropertyWithValue("id", canceledBookingId)
+				.hasFieldOrPropertyWithValue("userId", ID_USER_GUEST);
+		mockMvc.perform(get("/v1/booking").param("userId", String.valueOf(ID_USER_GUEST)).param("status", "CANCELED")
+				.param("from", "2088-01-01").param("to", "2089-01-01")).andExpect(status().isOk())
+				.andExpect(jsonPath("$.length()").value(1)).andExpect(jsonPath("$[0].start_date").value("2088-03-01"));
+		bookingService.delete(firstBookingId, ID_USER_GUEST);
+		bookingService.delete(secondBookingId, ID_USER_GUEST);
+		bookingService.delete(canceledBookingId, ID_USER_GUEST);
+	}
+
+	@Test
+	@DisplayName("List the bookings with an invalid cursor or limit")
+	void findBookingsInvalid() throws Exception {
+		mockMvc.perform(get("/v1/booking").param("after", "3:not-a-date:1")).andExpect(status().isBadRequest());
+		mockMvc.perform(get("/v1/booking").param("limit", "0")).andExpect(status().isBadRequest());
+	}
+
+	private Long createBooking(LocalDate startDate, LocalDate endDate) {
+		return bookingService.createBooking(CreateBookingDTO.builder().propertyId(ID_PROPERTY_3).startDate(startDate)
+				.endDate(endDate).userId(ID_USER_GUEST).build()).id();
+	}
+
+	private List<BookingSummaryDTO> read(String content) throws Exception {
+		return objMapper.readValue(content, new TypeReference<List<BookingSummaryDTO>>() {
+		});
+	}
+
+}
@@ -0,0 +1,64 @@
+package com.bookingapi.bookingapi.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDate;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.web.servlet.ResultActions;
+
+import com.bookingapi.bookingapi.model.dto.requestbody.CreateBookingDTO;
+import com.bookingapi.bookingapi.model.dto.requestbody.UpdateBookingDTO;
+import com.bookingapi.bookingapi.service.BookingService;
+
+class BookingManifestIntegrationTest extends TestController {
+
+	private static final long ID_USER_GUEST = 7L;
+	private static final long ID_PROPERTY_3 = 3L;
+
+	@Autowired
+	private BookingService bookingService;
+
+	@Test
+	@DisplayName("The manifest of a date is served from the cache until a booking of that date changes")
+	void findManifest() throws Exception {
+		// Preparing
+		Long bookingId = bookingService.createBooking(CreateBookingDTO.builder().propertyId(ID_PROPERTY_3)
+				.startDate(LocalDate.of(2087, 1, 10)).endDate(LocalDate.of(2087, 1, 12)).userId(ID_USER_GUEST).build())
+				.id();
+		// Executing and validating
+		findManifest("2087-01-10").andExpect(jsonPath("$.date").value("2087-01-10"))
+				.andExpect(jsonPath("$.properties.length()").value(1))
+				.andExpect(jsonPath("$.properties[0].property_id").value(ID_PROPERTY_3))
+				.andExpect(jsonPath("$.properties[0].arrivals[0].id").value(bookingId))
+				.andExpect(jsonPath("$.properties[0].arrivals[0].email_user").value("guest3@email.com"))
+				.andExpect(jsonPath("$.properties[0].departures.length()").value(0));
+		findManifest("2087-01-12").andExpect(jsonPath("$.properties[0].departures[0].id").value(bookingId));
+		resetStatementCount();
+		findManifest("2087-01-10").andExpect(jsonPath("$.properties[0].arrivals[0].id").value(bookingId));
+		assertEquals(0, statementCount());
+		bookingService.update(bookingId, UpdateBookingDTO.builder().startDate(LocalDate.of(2087, 1, 11))
+				.endDate(LocalDate.of(2087, 1, 12)).userId(ID_USER_GUEST).build());
+		findManifest("2087-01-10").andExpect(jsonPath("$.properties.length()").value(0));
+		findManifest("2087-01-11").andExpect(jsonPath("$.properties[0].arrivals[0].id").value(bookingId));
+		bookingService.cancelBooking(bookingId, ID_USER_GUEST);
+		findManifest("2087-01-12").andExpect(jsonPath("$.properties.length()").value(0));
+		bookingService.delete(bookingId, ID_USER_GUEST);
+	}
+
+	@Test
+	@DisplayName("The manifest with an invalid date")
+	void findManifestInvalid() throws Exception {
+		mockMvc.perform(get("/v1/booking/manifest").param("date", "2087-13-01")).andExpect(status().isBadRequest());
+	}
+
+	private ResultActions findManifest(String date) throws Exception {
+		return mockMvc.perform(get("/v1/booking/manifest").param("date", date)).andExpect(status().isOk());
+	}
+
+}
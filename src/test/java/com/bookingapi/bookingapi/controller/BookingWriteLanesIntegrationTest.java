@@ -0,0 +1,61 @@
+package com.bookingapi.bookingapi.controller;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDate;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+
+import com.bookingapi.bookingapi.enumerator.BookingStatus;
+import com.bookingapi.bookingapi.model.dto.requestbody.CreateBookingDTO;
+import com.bookingapi.bookingapi.model.dto.responsebody.BookingResponseDTO;
+
+/**
+ * Booking writes routed through the property write lanes, on their own
+ * in-memory database so the shared one is not recreated.
+ */
+@TestPropertySource(properties = { "booking.write-lanes.enabled=true", "booking.write-lanes.count=2",
+		"spring.datasource.url=jdbc:h2:mem:lanesdb" })
+class BookingWriteLanesIntegrationTest extends TestController {
+
+	private static final long ID_USER_GUEST = 7L;
+	private static final long ID_PROPERTY_3 = 3L;
+
+	@Test
+	@DisplayName("Create, cancel and delete a booking through the write lanes")
+	void bookingLifecycleThroughLanes() throws Exception {
+		String payload = objMapper.writeValueAsString(CreateBookingDTO.builder().propertyId(ID_PROPERTY_3)
+				.startDate(LocalDate.of(2093, 1, 1)).endDate(LocalDate.of(2093, 1, 3)).userId(ID_USER_GUEST).build());
+		String content = mockMvc
+				.perform(post("/v1/booking").contentType(MediaType.APPLICATION_JSON_VALUE).content(payload))
+				.andExpect(status().isCreated()).andReturn().getResponse().getContentAsString();
+		Long bookingId = objMapper.readValue(content, BookingResponseDTO.class).id();
+
+		mockMvc.perform(post("/v1/booking").contentType(MediaType.APPLICATION_JSON_VALUE).content(payload))
+				.andExpect(status().isBadRequest());
+		mockMvc.perform(put("/v1/booking/cancel").param("id", bookingId.toString()).param("userId",
+				String.valueOf(ID_USER_GUEST))).andExpect(status().isOk())
+				.andExpect(jsonPath("$.status").value(BookingStatus.CANCELED.name()));
+		mockMvc.perform(delete("/v1/booking/{id}", bookingId).param("userId", String.valueOf(ID_USER_GUEST)))
+				.andExpect(status().isNoContent());
+		mockMvc.perform(delete("/v1/booking/{id}", bookingId).param("userId", String.valueOf(ID_USER_GUEST)))
+				.andExpect(status().isNotFound());
+	}
+
+	@Test
+	@DisplayName("The queue depth of every lane is published as a metric")
+	void laneQueueDepthMetric() throws Exception {
+		mockMvc.perform(get("/actuator/metrics/booking.write.lane.queue.depth")).andExpect(status().isOk())
+				.andExpect(jsonPath("$.availableTags[0].tag").value("lane"))
+				.andExpect(jsonPath("$.availableTags[0].values.length()").value(2));
+	}
+
+}
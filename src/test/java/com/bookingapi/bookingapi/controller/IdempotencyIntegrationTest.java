@@ -0,0 +1,123 @@
+package com.bookingapi.bookingapi.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDate;
+import java.util.Optional;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import com.bookingapi.bookingapi.config.CacheConfig;
+import com.bookingapi.bookingapi.model.dto.requestbody.BlockDTO;
+import com.bookingapi.bookingapi.model.dto.requestbody.CreateBookingDTO;
+import com.bookingapi.bookingapi.model.dto.responsebody.BookingResponseDTO;
+import com.bookingapi.bookingapi.service.BookingService;
+import com.bookingapi.bookingapi.service.idempotency.IdempotencyService;
+
+class IdempotencyIntegrationTest extends TestController {
+
+	private static final long ID_USER_GUEST = 7L;
+	private static final long ID_USER_MANAGER = 8L;
+	private static final long ID_PROPERTY_3 = 3L;
+
+	@Autowired
+	private BookingService bookingService;
+
+	@Autowired
+	private CacheManager cacheManager;
+
+	@Test
+	@DisplayName("Retrying a booking with the same Idempotency-Key returns the booking first created")
+	void createBookingRetried() throws Exception {
+		// Preparing
+		CreateBookingDTO payload = CreateBookingDTO.builder().propertyId(ID_PROPERTY_3)
+				.startDate(LocalDate.of(2086, 1, 1)).endDate(LocalDate.of(2086, 1, 3)).userId(ID_USER_GUEST).build();
+		BookingResponseDTO created = read(perform("/v1/booking", "booking-2086-01", payload)
+				.andExpect(status().isCreated()));
+		// Executing and validating
+		resetStatementCount();
+		BookingResponseDTO retried = read(perform("/v1/booking", "booking-2086-01", payload)
+				.andExpect(status().isCreated()));
+		assertEquals(created, retried);
+		assertEquals(0, statementCount());
+		// after the cache lost it the key is read back from the database
+		Optional.ofNullable(cacheManager.getCache(CacheConfig.IDEMPOTENT_RESPONSES)).ifPresent(Cache::clear);
+		resetStatementCount();
+		assertEquals(created, read(perform("/v1/booking", "booking-2086-01", payload)
+				.andExpect(status().isCreated())));
+		assertEquals(1, statementCount());
+		// without a key the retry is a new booking, rejected by the overlap check
+		perform("/v1/booking", null, payload).andExpect(status().isBadRequest());
+		bookingService.delete(created.id(), ID_USER_GUEST);
+	}
+
+	@Test
+	@DisplayName("An Idempotency-Key reused for another request, or invalid")
+	void createBookingKeyReused() throws Exception {
+		// Preparing
+		CreateBookingDTO payload = CreateBookingDTO.builder().propertyId(ID_PROPERTY_3)
+				.startDate(LocalDate.of(2086, 2, 1)).endDate(LocalDate.of(2086, 2, 3)).userId(ID_USER_GUEST).build();
+		BookingResponseDTO created = read(perform("/v1/booking", "booking-2086-02", payload)
+				.andExpect(status().isCreated()));
+		// Executing and validating
+		CreateBookingDTO otherPayload = CreateBookingDTO.builder().propertyId(ID_PROPERTY_3)
+				.startDate(LocalDate.of(2086, 2, 1)).endDate(LocalDate.of(2086, 2, 4)).userId(ID_USER_GUEST).build();
+		perform("/v1/booking", "booking-2086-02", otherPayload).andExpect(status().isUnprocessableEntity());
+		perform("/v1/booking", " ", payload).andExpect(status().isBadRequest());
+		bookingService.delete(created.id(), ID_USER_GUEST);
+	}
+
+	@Test
+	@DisplayName("A rejected booking stores no response for its Idempotency-Key")
+	void createBookingRejected() throws Exception {
+		// Preparing
+		Long bookingId = bookingService.createBooking(CreateBookingDTO.builder().propertyId(ID_PROPERTY_3)
+				.startDate(LocalDate.of(2086, 3, 1)).endDate(LocalDate.of(2086, 3, 5)).userId(ID_USER_GUEST).build())
+				.id();
+		CreateBookingDTO payload = CreateBookingDTO.builder().propertyId(ID_PROPERTY_3)
+				.startDate(LocalDate.of(2086, 3, 2)).endDate(LocalDate.of(2086, 3, 4)).userId(ID_USER_GUEST).build();
+		// Executing and validating
+		perform("/v1/booking", "booking-2086-03", payload).andExpect(status().isBadRequest());
+		bookingService.delete(bookingId, ID_USER_GUEST);
+		BookingResponseDTO created = read(perform("/v1/booking", "booking-2086-03", payload)
+				.andExpect(status().isCreated()));
+		assertEquals(created, read(perform("/v1/booking", "booking-2086-03", payload)));
+		bookingService.delete(created.id(), ID_USER_GUEST);
+	}
+
+	@Test
+	@DisplayName("Retrying a block with the same Idempotency-Key returns the block first created")
+	void createBlockRetried() throws Exception {
+		// Preparing
+		BlockDTO payload = BlockDTO.builder().propertyId(ID_PROPERTY_3).userId(ID_USER_MANAGER)
+				.startDate(LocalDate.of(2086, 4, 1)).endDate(LocalDate.of(2086, 4, 10)).details("Maintenance").build();
+		BookingResponseDTO created = read(perform("/v1/booking/block", "block-2086-04", payload)
+				.andExpect(status().isOk()));
+		// Executing and validating
+		assertEquals(created, read(perform("/v1/booking/block", "block-2086-04", payload).andExpect(status().isOk())));
+		bookingService.deleteBlock(created.id(), ID_USER_MANAGER);
+	}
+
+	private ResultActions perform(String path, String idempotencyKey, Object payload) throws Exception {
+		MockHttpServletRequestBuilder request = post(path).contentType(MediaType.APPLICATION_JSON_VALUE)
+				.content(objMapper.writeValueAsString(payload));
+		if (idempotencyKey != null) {
+			request.header(IdempotencyService.HEADER, idempotencyKey);
+		}
+		return mockMvc.perform(request);
+	}
+
+	private BookingResponseDTO read(ResultActions result) throws Exception {
+		return objMapper.readValue(result.andReturn().getResponse().getContentAsString(), BookingResponseDTO.class);
+	}
+
+}
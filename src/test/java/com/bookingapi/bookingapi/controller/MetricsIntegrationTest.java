@@ -0,0 +1,50 @@
+package com.bookingapi.bookingapi.controller;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDate;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+
+import com.bookingapi.bookingapi.model.dto.requestbody.CreateBookingDTO;
+import com.bookingapi.bookingapi.model.dto.responsebody.BookingResponseDTO;
+import com.bookingapi.bookingapi.service.BookingService;
+
+class MetricsIntegrationTest extends TestController {
+
+	private static final long ID_USER_GUEST = 7L;
+	private static final long ID_PROPERTY_3 = 3L;
+
+	@Autowired
+	private BookingService bookingService;
+
+	@Test
+	@DisplayName("Validator rules, repository calls and business errors are scraped by Prometheus")
+	void prometheusScrape() throws Exception {
+		// Preparing
+		String payload = objMapper.writeValueAsString(CreateBookingDTO.builder().propertyId(ID_PROPERTY_3)
+				.startDate(LocalDate.of(2089, 1, 1)).endDate(LocalDate.of(2089, 1, 5)).userId(ID_USER_GUEST).build());
+		String content = mockMvc
+				.perform(post("/v1/booking").contentType(MediaType.APPLICATION_JSON_VALUE).content(payload))
+				.andExpect(status().isCreated()).andReturn().getResponse().getContentAsString();
+		mockMvc.perform(post("/v1/booking").contentType(MediaType.APPLICATION_JSON_VALUE).content(payload))
+				.andExpect(status().isBadRequest());
+		// Executing and validating
+		mockMvc.perform(get("/actuator/prometheus")).andExpect(status().isOk())
+				.andExpect(content().string(containsString("booking_create_seconds_count")))
+				.andExpect(content().string(
+						containsString("booking_validator_rule_seconds_count{pipeline=\"booking\",rule=\"overlap\"")))
+				.andExpect(content().string(containsString("repository=\"BookingRepository\"")))
+				.andExpect(content().string(containsString(
+						"booking_business_errors_total{reason=\"Booking not available for this property in this date\",status=\"400\"")));
+		bookingService.delete(objMapper.readValue(content, BookingResponseDTO.class).id(), ID_USER_GUEST);
+	}
+
+}
@@ -0,0 +1,156 @@
+package com.bookingapi.bookingapi.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MvcResult;
+
+import com.bookingapi.bookingapi.model.dto.requestbody.CreateBookingDTO;
+import com.bookingapi.bookingapi.model.dto.responsebody.PropertyResponseDTO;
+import com.bookingapi.bookingapi.service.BookingService;
+import com.fasterxml.jackson.core.type.TypeReference;
+
+class PropertyControllerIntegrationTest extends TestController {
+
+	private static final long ID_USER_GUEST = 7L;
+	private static final long ID_PROPERTY_3 = 3L;
+
+	@Autowired
+	private BookingService bookingService;
+
+	@Test
+	@DisplayName("Find all properties counts only the active bookings of each property")
+	void findAllCountsActiveBookings() throws Exception {
+		// Preparing
+		long activeBookingsBefore = findProperty(ID_PROPERTY_3).activeBookings();
+		Long activeBookingId = createBooking(LocalDate.of(2096, 1, 1), LocalDate.of(2096, 1, 3));
+		Long canceledBookingId = createBooking(LocalDate.of(2096, 2, 1), LocalDate.of(2096, 2, 3));
+		bookingService.cancelBooking(canceledBookingId, ID_USER_GUEST);
+		// Executing
+		PropertyResponseDTO obtained = findProperty(ID_PROPERTY_3);
+		// Validating
+		assertEquals(activeBookingsBefore + 1, obtained.activeBookings());
+		assertThat(obtained).hasFieldOrPropertyWithValue("managerEmail", "manager3@email.com")
+				.hasFieldOrPropertyWithValue("ownerEmail", "owner3@email.com");
+		bookingService.delete(activeBookingId, ID_USER_GUEST);
+		bookingService.delete(canceledBookingId, ID_USER_GUEST);
+	}
+
+	@Test
+	@DisplayName("Find all properties returns the page after the informed ID and a link to the next one")
+	void findAllKeysetPage() throws Exception {
+		String content = mockMvc.perform(get("/v1/property").param("after", "1").param("limit", "1"))
+				.andExpect(status().isOk())
+				.andExpect(header().string(HttpHeaders.LINK, containsString("after=2")))
+				.andReturn().getResponse().getContentAsString();
+		List<PropertyResponseDTO> properties = objMapper.readValue(content,
+				new TypeReference<List<PropertyResponseDTO>>() {
+				});
+		assertThat(properties).extracting(PropertyResponseDTO::id).containsExactly(2L);
+	}
+
+	@Test
+	@DisplayName("Find all properties with an invalid limit")
+	void findAllInvalidLimit() throws Exception {
+		mockMvc.perform(get("/v1/property").param("limit", "0")).andExpect(status().isBadRequest());
+	}
+
+	@Test
+	@DisplayName("Stream all properties as newline delimited JSON")
+	void streamAllProperties() throws Exception {
+		MvcResult asyncResult = mockMvc.perform(get("/v1/property").param("after", "1")
+				.accept(MediaType.APPLICATION_NDJSON)).andExpect(request().asyncStarted()).andReturn();
+		String content = mockMvc.perform(asyncDispatch(asyncResult)).andExpect(status().isOk())
+				.andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)).andReturn()
+				.getResponse().getContentAsString();
+		List<Long> ids = new ArrayList<>();
+		for (String line : content.split("\n")) {
+			ids.add(objMapper.readValue(line, PropertyResponseDTO.class).id());
+		}
+		assertThat(ids).startsWith(2L, 3L).doesNotContain(1L);
+	}
+
+	@Test
+	@DisplayName("Find the availability of a property after bookings are created and canceled")
+	void findAvailability() throws Exception {
+		// Preparing
+		Long firstBookingId = createBooking(LocalDate.of(2092, 1, 10), LocalDate.of(2092, 1, 15));
+		Long secondBookingId = createBooking(LocalDate.of(2092, 1, 15), LocalDate.of(2092, 1, 17));
+		Long canceledBookingId = createBooking(LocalDate.of(2092, 1, 20), LocalDate.of(2092, 1, 22));
+		bookingService.cancelBooking(canceledBookingId, ID_USER_GUEST);
+		// Executing and validating
+		mockMvc.perform(get("/v1/property/{id}/availability", ID_PROPERTY_3).param("from", "2092-01-01").param("to",
+				"2092-02-01")).andExpect(status().isOk()).andExpect(jsonPath("$.occupied.length()").value(1))
+				.andExpect(jsonPath("$.occupied[0].start_date").value("2092-01-10"))
+				.andExpect(jsonPath("$.occupied[0].end_date").value("2092-01-17"))
+				.andExpect(jsonPath("$.free[0].end_date").value("2092-01-10"))
+				.andExpect(jsonPath("$.free[1].start_date").value("2092-01-17"));
+		bookingService.delete(firstBookingId, ID_USER_GUEST);
+		mockMvc.perform(get("/v1/property/{id}/availability", ID_PROPERTY_3).param("from", "2092-01-01").param("to",
+				"2092-02-01")).andExpect(jsonPath("$.occupied[0].start_date").value("2092-01-15"));
+		bookingService.delete(secondBookingId, ID_USER_GUEST);
+		bookingService.delete(canceledBookingId, ID_USER_GUEST);
+	}
+
+	@Test
+	@DisplayName("Find the availability of an unknown property or with an invalid range")
+	void findAvailabilityInvalid() throws Exception {
+		mockMvc.perform(get("/v1/property/{id}/availability", 999L)).andExpect(status().isNotFound());
+		mockMvc.perform(get("/v1/property/{id}/availability", ID_PROPERTY_3).param("from", "2092-02-01")
+				.param("to", "2092-01-01")).andExpect(status().isBadRequest());
+	}
+
+	@Test
+	@DisplayName("Search the properties free between two dates")
+	void findAvailable() throws Exception {
+		// Preparing
+		Long bookingId = createBooking(LocalDate.of(2091, 1, 1), LocalDate.of(2091, 1, 5));
+		// Executing
+		String content = mockMvc.perform(get("/v1/property/search/available").param("start", "2091-01-04")
+				.param("end", "2091-01-06")).andExpect(status().isOk()).andReturn().getResponse().getContentAsString();
+		List<PropertyResponseDTO> properties = objMapper.readValue(content,
+				new TypeReference<List<PropertyResponseDTO>>() {
+				});
+		// Validating
+		assertThat(properties).extracting(PropertyResponseDTO::id).contains(1L, 2L).doesNotContain(ID_PROPERTY_3);
+		mockMvc.perform(get("/v1/property/search/available").param("start", "2091-01-05").param("end", "2091-01-06")
+				.param("limit", "1")).andExpect(status().isOk())
+				.andExpect(header().string(HttpHeaders.LINK, containsString("after=1")))
+				.andExpect(jsonPath("$[0].id").value(1));
+		mockMvc.perform(get("/v1/property/search/available").param("start", "2091-01-05").param("end", "2091-01-06")
+				.param("after", "2")).andExpect(status().isOk()).andExpect(jsonPath("$[0].id").value(ID_PROPERTY_3));
+		bookingService.delete(bookingId, ID_USER_GUEST);
+	}
+
+	private Long createBooking(LocalDate startDate, LocalDate endDate) {
+		return bookingService.createBooking(CreateBookingDTO.builder().propertyId(ID_PROPERTY_3).startDate(startDate)
+				.endDate(endDate).userId(ID_USER_GUEST).build()).id();
+	}
+
+	private PropertyResponseDTO findProperty(long id) throws Exception {
+		String content = mockMvc.perform(get("/v1/property")).andExpect(status().isOk()).andReturn().getResponse()
+				.getContentAsString();
+		List<PropertyResponseDTO> properties = objMapper.readValue(content,
+				new TypeReference<List<PropertyResponseDTO>>() {
+				});
+		return properties.stream().filter(property -> property.id() == id).findFirst().orElseThrow();
+	}
+
+}
@@ -0,0 +1,152 @@
+package com.bookingapi.bookingapi.controller;
+
+import static org.hamcrest.Matchers.greaterThan;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDate;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.MethodOrderer.OrderAnnotation;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MvcResult;
+
+import com.bookingapi.bookingapi.config.CacheConfig;
+import com.bookingapi.bookingapi.model.dto.requestbody.CreateBookingDTO;
+import com.bookingapi.bookingapi.model.dto.requestbody.UpdateBookingDTO;
+import com.bookingapi.bookingapi.model.dto.responsebody.BookingResponseDTO;
+import com.bookingapi.bookingapi.service.BookingService;
+
+/**
+ * Number of SQL statements issued per endpoint. Uses property 3 (manager 8,
+ * owner 9) and guest 7 so the scenario of the other integration tests is left
+ * untouched.
+ */
+@TestMethodOrder(OrderAnnotation.class)
+class QueryCountIntegrationTest extends TestController {
+
+	private static final long ID_USER_GUEST = 7L;
+	private static final long ID_PROPERTY_3 = 3L;
+
+	private static Long warmUpBookingId;
+	private static Long bookingId;
+	private static String eTag;
+
+	@Autowired
+	private BookingService bookingService;
+
+	@Order(10)
+	@Test
+	@DisplayName("POST /v1/booking: insert only, the user and property come from the cache")
+	void createBookingStatements() throws Exception {
+		// loads property 3 into the availability index and guest 7 and property 3 into the cache
+		warmUpBookingId = bookingService.createBooking(CreateBookingDTO.builder().propertyId(ID_PROPERTY_3)
+				.startDate(LocalDate.of(2097, 1, 1)).endDate(LocalDate.of(2097, 1, 3)).userId(ID_USER_GUEST).build())
+				.id();
+		String payload = objMapper.writeValueAsString(CreateBookingDTO.builder().propertyId(ID_PROPERTY_3)
+				.startDate(LocalDate.of(2097, 2, 1)).endDate(LocalDate.of(2097, 2, 3)).userId(ID_USER_GUEST).build());
+		resetStatementCount();
+		MvcResult result = mockMvc
+				.perform(post("/v1/booking").contentType(MediaType.APPLICATION_JSON_VALUE).content(payload))
+				.andExpect(status().isCreated()).andReturn();
+		assertEquals(1, statementCount());
+		bookingId = objMapper.readValue(result.getResponse().getContentAsString(), BookingResponseDTO.class).id();
+	}
+
+	@Order(20)
+	@Test
+	@DisplayName("GET /v1/booking/{id}: booking joined with property and user")
+	void findBookingStatements() throws Exception {
+		resetStatementCount();
+		eTag = mockMvc.perform(get("/v1/booking/{id}", bookingId)).andExpect(status().isOk())
+				.andExpect(header().exists(HttpHeaders.ETAG)).andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+		assertEquals(1, statementCount());
+	}
+
+	@Order(25)
+	@Test
+	@DisplayName("GET /v1/booking/{id} again: served from the cache, 304 for an unchanged ETag")
+	void findCachedBookingStatements() throws Exception {
+		resetStatementCount();
+		mockMvc.perform(get("/v1/booking/{id}", bookingId)).andExpect(status().isOk())
+				.andExpect(header().string(HttpHeaders.ETAG, eTag));
+		mockMvc.perform(get("/v1/booking/{id}", bookingId).header(HttpHeaders.IF_NONE_MATCH, eTag))
+				.andExpect(status().isNotModified());
+		assertEquals(0, statementCount());
+	}
+
+	@Order(30)
+	@Test
+	@DisplayName("PUT /v1/booking/{id}: booking and update, the guest is already loaded by the booking graph")
+	void updateBookingStatements() throws Exception {
+		String payload = objMapper.writeValueAsString(UpdateBookingDTO.builder().startDate(LocalDate.of(2097, 3, 1))
+				.endDate(LocalDate.of(2097, 3, 3)).userId(ID_USER_GUEST).build());
+		resetStatementCount();
+		mockMvc.perform(put("/v1/booking/{id}", bookingId).contentType(MediaType.APPLICATION_JSON_VALUE)
+				.content(payload)).andExpect(status().isOk());
+		assertEquals(2, statementCount());
+	}
+
+	@Order(35)
+	@Test
+	@DisplayName("GET /v1/booking/{id} after an update: evicted, reloaded with a new ETag")
+	void findUpdatedBookingStatements() throws Exception {
+		resetStatementCount();
+		mockMvc.perform(get("/v1/booking/{id}", bookingId).header(HttpHeaders.IF_NONE_MATCH, eTag))
+				.andExpect(status().isOk()).andExpect(jsonPath("$.start_date").value("2097-03-01"));
+		assertEquals(1, statementCount());
+	}
+
+	@Order(40)
+	@Test
+	@DisplayName("PUT /v1/booking/cancel: booking and update")
+	void cancelBookingStatements() throws Exception {
+		resetStatementCount();
+		mockMvc.perform(put("/v1/booking/cancel").param("id", bookingId.toString()).param("userId",
+				String.valueOf(ID_USER_GUEST))).andExpect(status().isOk());
+		assertEquals(2, statementCount());
+	}
+
+	@Order(50)
+	@Test
+	@DisplayName("DELETE /v1/booking/{id}: booking and delete")
+	void deleteBookingStatements() throws Exception {
+		resetStatementCount();
+		mockMvc.perform(delete("/v1/booking/{id}", bookingId).param("userId", String.valueOf(ID_USER_GUEST)))
+				.andExpect(status().isNoContent());
+		assertEquals(2, statementCount());
+		bookingService.delete(warmUpBookingId, ID_USER_GUEST);
+	}
+
+	@Order(60)
+	@Test
+	@DisplayName("GET /v1/property: a single query")
+	void findAllPropertiesStatements() throws Exception {
+		resetStatementCount();
+		mockMvc.perform(get("/v1/property")).andExpect(status().isOk());
+		assertEquals(1, statementCount());
+	}
+
+	@Order(70)
+	@Test
+	@DisplayName("Hits and misses of the user and property caches are published")
+	void cacheMetrics() throws Exception {
+		mockMvc.perform(get("/actuator/metrics/cache.gets").param("tag", "cache:" + CacheConfig.USERS)
+				.param("tag", "result:hit")).andExpect(status().isOk())
+				.andExpect(jsonPath("$.measurements[0].value").value(greaterThan(0.0)));
+		mockMvc.perform(get("/actuator/metrics/cache.gets").param("tag", "cache:" + CacheConfig.PROPERTIES)
+				.param("tag", "result:miss")).andExpect(status().isOk());
+	}
+
+}
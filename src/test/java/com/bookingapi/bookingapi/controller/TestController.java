@@ -1,5 +1,7 @@
 package com.bookingapi.bookingapi.controller;
 
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
@@ -11,13 +13,20 @@ import org.springframework.web.context.WebApplicationContext;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 
-@SpringBootTest
+import jakarta.persistence.EntityManagerFactory;
+
+@SpringBootTest(properties = { "spring.jpa.properties.hibernate.generate_statistics=true",
+		"management.prometheus.metrics.export.enabled=true",
+		"logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=WARN" })
 @WebAppConfiguration
 public class TestController {
 
 	@Autowired
 	private WebApplicationContext webApplicationContext;
 
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
 	MockMvc mockMvc;
 
 	ObjectMapper objMapper;
@@ -29,4 +38,16 @@ public class TestController {
 		objMapper.registerModule(new JavaTimeModule());
 	}
 
+	void resetStatementCount() {
+		statistics().clear();
+	}
+
+	long statementCount() {
+		return statistics().getPrepareStatementCount();
+	}
+
+	private Statistics statistics() {
+		return entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+	}
+
 }
@@ -1,14 +1,24 @@
 package com.bookingapi.bookingapi.service;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
 import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -18,20 +28,38 @@ import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.HttpStatus;
 
+import com.bookingapi.bookingapi.config.CacheConfig;
 import com.bookingapi.bookingapi.enumerator.BookingStatus;
 import com.bookingapi.bookingapi.enumerator.UserType;
+import com.bookingapi.bookingapi.exception.BusinessException;
 import com.bookingapi.bookingapi.model.dto.requestbody.BlockDTO;
+import com.bookingapi.bookingapi.model.dto.requestbody.BulkBlockDTO;
 import com.bookingapi.bookingapi.model.dto.requestbody.CreateBookingDTO;
 import com.bookingapi.bookingapi.model.dto.requestbody.RebookingCanceledDTO;
 import com.bookingapi.bookingapi.model.dto.requestbody.UpdateBookingDTO;
+import com.bookingapi.bookingapi.model.dto.responsebody.BookingBatchResultDTO;
+import com.bookingapi.bookingapi.model.dto.responsebody.BookingManifestDTO;
 import com.bookingapi.bookingapi.model.dto.responsebody.BookingResponseDTO;
+import com.bookingapi.bookingapi.model.dto.responsebody.BookingSummaryDTO;
+import com.bookingapi.bookingapi.model.dto.responsebody.PropertyManifestDTO;
 import com.bookingapi.bookingapi.model.entity.Booking;
+import com.bookingapi.bookingapi.model.entity.BookingArchive;
 import com.bookingapi.bookingapi.model.entity.Property;
 import com.bookingapi.bookingapi.model.entity.User;
+import com.bookingapi.bookingapi.repository.BookingArchiveRepository;
+import com.bookingapi.bookingapi.repository.BookingCursor;
+import com.bookingapi.bookingapi.repository.BookingListingFilter;
 import com.bookingapi.bookingapi.repository.BookingRepository;
+import com.bookingapi.bookingapi.service.availability.BatchAvailability;
+import com.bookingapi.bookingapi.service.lock.PropertyWriteLock;
 import com.bookingapi.bookingapi.service.validator.BookingValidatorService;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import jakarta.persistence.EntityNotFoundException;
 
 @ExtendWith(MockitoExtension.class)
@@ -43,11 +71,19 @@ class BookingServiceTest {
 	@Spy
 	private BookingRepository bookingRepository;
 	@Mock
+	private BookingArchiveRepository bookingArchiveRepository;
+	@Mock
 	private PropertyService propertyService;
 	@Mock
 	private UserService userService;
 	@Mock
 	private BookingValidatorService bookingValidator;
+	@Mock
+	private PropertyWriteLock propertyLock;
+	@Mock
+	private CacheManager cacheManager;
+	@Spy
+	private MeterRegistry meterRegistry = new SimpleMeterRegistry();
 
 	@Test
 	@DisplayName("Creating a booking")
@@ -73,6 +109,7 @@ class BookingServiceTest {
 				.hasFieldOrPropertyWithValue("emailUser", bookingCreated.getUser().getEmail());
 		verify(bookingValidator, times(1)).validateUserInformedIsTypeGuest(userGuest);
 		verify(bookingValidator, times(1)).validateUserInformedIsTypeGuest(userGuest);
+		verify(propertyLock, times(1)).lock(bookingDTO.propertyId());
 		verify(bookingRepository, times(1)).save(any(Booking.class));
 	}
 
@@ -83,7 +120,7 @@ class BookingServiceTest {
 		Long bookingId = 1L;
 		Long userId = 1L;
 		Optional<Booking> bookingOptional = Optional.of(Booking.builder().id(bookingId).build());
-		Mockito.when(bookingRepository.findById(bookingId)).thenReturn(bookingOptional);
+		Mockito.when(bookingRepository.findWithPropertyById(bookingId)).thenReturn(bookingOptional);
 		// Executing
 		service.delete(bookingId, userId);
 		// Validating
@@ -101,7 +138,7 @@ class BookingServiceTest {
 				.startDate(LocalDate.now().plusDays(1)).endDate(LocalDate.now().plusDays(2)).build();
 		Optional<Booking> bookingOptional = Optional
 				.of(Booking.builder().id(bookingId).property(buildPropertyEntity(1L, "", null, null)).build());
-		Mockito.when(bookingRepository.findById(bookingId)).thenReturn(bookingOptional);
+		Mockito.when(bookingRepository.findWithPropertyAndUserById(bookingId)).thenReturn(bookingOptional);
 		Mockito.when(userService.findUserById(userId)).thenReturn(buildUserEntity(userId, null, null));
 		Mockito.when(bookingRepository.save(any(Booking.class))).thenReturn(bookingOptional.get());
 		// Executing
@@ -136,10 +173,72 @@ class BookingServiceTest {
 				.hasFieldOrPropertyWithValue("startDate", bookingEntity.getStartDate())
 				.hasFieldOrPropertyWithValue("endDate", bookingEntity.getEndDate());
 		verify(bookingRepository, times(1)).save(any(Booking.class));
-		verify(bookingValidator, times(1)).validateBookingDates(blockDTO.startDate(), blockDTO.endDate());
-		verify(bookingValidator, times(1)).validateUserHasPermissionToBlock(any(User.class), any(Property.class));
-		verify(bookingValidator, times(1)).validatePropertyHasActiveOrBlockedBookings(blockDTO);
-		verify(bookingValidator, times(1)).verifyPropertyHasCanceledBookings(blockDTO);
+		verify(bookingValidator, times(1)).validateBlock(userEntity, List.of(property), blockDTO.startDate(),
+				blockDTO.endDate(), null);
+		verify(bookingRepository, never()).deleteFromPropertiesBetweenDates(anyCollection(), any(), any(), any());
+	}
+
+	@Test
+	@DisplayName("Creating a block over canceled bookings deletes them in bulk and counts the rows deleted")
+	void createBlockOverCanceledBookings() {
+		// Preparing
+		BlockDTO blockDTO = BlockDTO.builder().userId(1L).propertyId(1L).startDate(LocalDate.now().plusDays(1))
+				.endDate(LocalDate.now().plusDays(3)).build();
+		User userEntity = buildUserEntity(1L, "emailUser@test.com", UserType.MANAGER);
+		Property property = buildPropertyEntity(1L, null, null, null);
+		Mockito.when(userService.findUserById(1L)).thenReturn(userEntity);
+		Mockito.when(propertyService.findById(1L)).thenReturn(property);
+		Mockito.when(bookingValidator.validateBlock(userEntity, List.of(property), blockDTO.startDate(),
+				blockDTO.endDate(), null)).thenReturn(List.of(4L, 5L, 6L));
+		Mockito.when(bookingRepository.deleteFromPropertiesBetweenDates(List.of(1L), blockDTO.startDate(),
+				blockDTO.endDate(), BookingStatus.CANCELED)).thenReturn(3);
+		Cache bookingResponses = Mockito.mock(Cache.class);
+		Mockito.when(cacheManager.getCache(CacheConfig.BOOKING_RESPONSES)).thenReturn(bookingResponses);
+		Mockito.when(bookingRepository.save(any(Booking.class))).thenAnswer(invocation -> invocation.getArgument(0));
+		// Executing
+		service.createBlock(blockDTO);
+		// Validating
+		assertEquals(3, meterRegistry.counter(BookingService.METRIC_CANCELED_BOOKINGS_DELETED).count());
+		verify(bookingResponses, times(1)).evict(4L);
+		verify(bookingResponses, times(3)).evict(any());
+	}
+
+	@Test
+	@DisplayName("Creates the same block for many properties")
+	void createBlocks() {
+		// Preparing
+		User manager = buildUserEntity(1L, "manager@test.com", UserType.MANAGER);
+		Property firstProperty = buildPropertyEntity(1L, "first", manager, null);
+		Property secondProperty = buildPropertyEntity(2L, "second", manager, null);
+		BulkBlockDTO bulkBlockDTO = BulkBlockDTO.builder().propertyIds(List.of(1L, 2L, 1L)).userId(1L)
+				.startDate(LocalDate.now().plusDays(1)).endDate(LocalDate.now().plusDays(5)).build();
+		Set<Long> propertyIds = Set.of(1L, 2L);
+		Mockito.when(userService.findUserById(1L)).thenReturn(manager);
+		Mockito.when(propertyService.findPropertiesByIds(propertyIds))
+				.thenReturn(Map.of(1L, firstProperty, 2L, secondProperty));
+		Mockito.when(bookingRepository.saveAll(anyCollection())).thenAnswer(invocation -> invocation.getArgument(0));
+		// Executing
+		List<BookingResponseDTO> obtained = service.createBlocks(bulkBlockDTO);
+		// Validating
+		assertThat(obtained).extracting(BookingResponseDTO::propertyDescription).containsExactly("first", "second");
+		assertThat(obtained).extracting(BookingResponseDTO::status).containsOnly(BookingStatus.BLOCKED);
+		verify(propertyLock, times(1)).lockAll(propertyIds);
+		verify(bookingValidator, times(1)).validateBlock(eq(manager), anyCollection(),
+				eq(bulkBlockDTO.startDate()), eq(bulkBlockDTO.endDate()), isNull());
+		verify(bookingRepository, times(1)).saveAll(anyCollection());
+	}
+
+	@Test
+	@DisplayName("Creating a block for many properties with an unknown property")
+	void createBlocksUnknownProperty() {
+		// Preparing
+		BulkBlockDTO bulkBlockDTO = BulkBlockDTO.builder().propertyIds(List.of(1L, 2L)).userId(1L)
+				.startDate(LocalDate.now().plusDays(1)).endDate(LocalDate.now().plusDays(5)).build();
+		Mockito.when(propertyService.findPropertiesByIds(Set.of(1L, 2L)))
+				.thenReturn(Map.of(1L, buildPropertyEntity(1L, "first", null, null)));
+		// Executing and Validating
+		assertThrows(EntityNotFoundException.class, () -> service.createBlocks(bulkBlockDTO));
+		verify(bookingRepository, never()).saveAll(anyCollection());
 	}
 
 	@Test
@@ -154,7 +253,7 @@ class BookingServiceTest {
 		Property property = buildPropertyEntity(propertyId, null, null, null);
 		Booking bookingEntity = buildBookingEntity(1L, blockDTO.startDate(), blockDTO.endDate(), BookingStatus.BLOCKED,
 				"details", userEntity, property);
-		Mockito.when(bookingRepository.findById(anyLong())).thenReturn(Optional.of(bookingEntity));
+		Mockito.when(bookingRepository.findWithPropertyAndUserById(anyLong())).thenReturn(Optional.of(bookingEntity));
 		Mockito.when(bookingRepository.save(any(Booking.class))).thenReturn(bookingEntity);
 		// Executing
 		BookingResponseDTO obtained = service.updateBlock(bookingEntity.getId(), blockDTO);
@@ -164,9 +263,8 @@ class BookingServiceTest {
 				.hasFieldOrPropertyWithValue("startDate", bookingEntity.getStartDate())
 				.hasFieldOrPropertyWithValue("endDate", bookingEntity.getEndDate());
 		verify(bookingRepository, times(1)).save(any(Booking.class));
-		verify(bookingValidator, times(1)).validateUserHasPermissionToBlock(userEntity, property);
-		verify(bookingValidator, times(1)).validatePropertyHasActiveOrBlockedBookings(blockDTO);
-		verify(bookingValidator, times(1)).verifyPropertyHasCanceledBookings(blockDTO);
+		verify(bookingValidator, times(1)).validateBlock(userEntity, List.of(property), blockDTO.startDate(),
+				blockDTO.endDate(), bookingEntity.getId());
 	}
 
 	@Test
@@ -178,7 +276,7 @@ class BookingServiceTest {
 		User userEntity = buildUserEntity(userId, "emailUser@test.com", UserType.MANAGER);
 		Optional<Booking> bookingOptional = Optional
 				.of(Booking.builder().id(bookingId).property(new Property()).build());
-		Mockito.when(bookingRepository.findById(bookingId)).thenReturn(bookingOptional);
+		Mockito.when(bookingRepository.findWithPropertyById(bookingId)).thenReturn(bookingOptional);
 		Mockito.when(userService.findUserById(userId)).thenReturn(userEntity);
 		// Executing
 		service.deleteBlock(bookingId, userId);
@@ -194,7 +292,7 @@ class BookingServiceTest {
 		Booking bookingEntity = buildBookingEntity(1L, LocalDate.now().plusDays(1), LocalDate.now().plusDays(2),
 				BookingStatus.ACTIVE, "", buildUserEntity(1L, "email@test.com", UserType.GUEST),
 				buildPropertyEntity(1L, "description", null, null));
-		Mockito.when(bookingRepository.findById(anyLong())).thenReturn(Optional.of(bookingEntity));
+		Mockito.when(bookingRepository.findWithPropertyAndUserById(anyLong())).thenReturn(Optional.of(bookingEntity));
 		BookingResponseDTO obtained = service.findBookingResponseDTOById(anyLong());
 		assertThat(obtained).hasFieldOrPropertyWithValue("id", bookingEntity.getId())
 				.hasFieldOrPropertyWithValue("startDate", bookingEntity.getStartDate())
@@ -204,7 +302,108 @@ class BookingServiceTest {
 				.hasFieldOrPropertyWithValue("propertyDescription", bookingEntity.getProperty().getDescription())
 				.hasFieldOrPropertyWithValue("emailUser", bookingEntity.getUser().getEmail());
 		;
-		verify(bookingRepository, times(1)).findById(anyLong());
+		verify(bookingRepository, times(1)).findWithPropertyAndUserById(anyLong());
+	}
+
+	@Test
+	@DisplayName("Find a bookingDTO by id falls back to the archive")
+	void findBookingDTOByIdArchived() {
+		// Preparing
+		BookingArchive archived = BookingArchive.builder().id(1L).startDate(LocalDate.now().minusDays(200))
+				.endDate(LocalDate.now().minusDays(198)).status(BookingStatus.ACTIVE)
+				.user(buildUserEntity(1L, "email@test.com", UserType.GUEST))
+				.property(buildPropertyEntity(1L, "description", null, null)).archivedDate(LocalDate.now()).build();
+		Mockito.when(bookingRepository.findWithPropertyAndUserById(1L)).thenReturn(Optional.empty());
+		Mockito.when(bookingArchiveRepository.findWithPropertyAndUserById(1L)).thenReturn(Optional.of(archived));
+		// Executing
+		BookingResponseDTO obtained = service.findBookingResponseDTOById(1L);
+		// Validating
+		assertThat(obtained).hasFieldOrPropertyWithValue("id", 1L)
+				.hasFieldOrPropertyWithValue("endDate", archived.getEndDate())
+				.hasFieldOrPropertyWithValue("emailUser", "email@test.com");
+	}
+
+	@Test
+	@DisplayName("Find a bookingDTO by id - Not found nor archived")
+	void findBookingDTOById_NotFound() {
+		Mockito.when(bookingRepository.findWithPropertyAndUserById(1L)).thenReturn(Optional.empty());
+		Mockito.when(bookingArchiveRepository.findWithPropertyAndUserById(1L)).thenReturn(Optional.empty());
+		assertThrows(EntityNotFoundException.class, () -> service.findBookingResponseDTOById(1L));
+	}
+
+	@Test
+	@DisplayName("Find bookings after a cursor")
+	void findBookings() {
+		// Preparing
+		BookingListingFilter filter = BookingListingFilter.builder().propertyId(3L).build();
+		BookingSummaryDTO summary = BookingSummaryDTO.builder().id(10L).propertyId(3L).build();
+		Mockito.when(bookingRepository.findSummaries(filter, new BookingCursor(3L, LocalDate.of(2100, 1, 1), 9L), 10))
+				.thenReturn(List.of(summary));
+		// Executing
+		List<BookingSummaryDTO> obtained = service.findBookings(filter, "3:2100-01-01:9", 10);
+		// Validating
+		assertThat(obtained).containsExactly(summary);
+	}
+
+	@Test
+	@DisplayName("Find bookings with an invalid cursor or limit")
+	void findBookingsInvalid() {
+		BookingListingFilter filter = BookingListingFilter.builder().build();
+		assertThrows(BusinessException.class, () -> service.findBookings(filter, "3:2100-01-01", 10));
+		assertThrows(BusinessException.class, () -> service.findBookings(filter, null, 0));
+		verify(bookingRepository, never()).findSummaries(any(), any(), anyInt());
+	}
+
+	@Test
+	@DisplayName("Find the manifest of a date grouped by property")
+	void findManifest() {
+		// Preparing
+		LocalDate date = LocalDate.now().plusDays(1);
+		User guest = buildUserEntity(1L, "email@test.com", UserType.GUEST);
+		Property firstProperty = buildPropertyEntity(1L, "first", null, null);
+		Property secondProperty = buildPropertyEntity(2L, "second", null, null);
+		Booking arrival = buildBookingEntity(10L, date, date.plusDays(2), BookingStatus.ACTIVE, "", guest,
+				secondProperty);
+		Booking departure = buildBookingEntity(11L, date.minusDays(2), date, BookingStatus.ACTIVE, "", guest,
+				firstProperty);
+		Booking secondDeparture = buildBookingEntity(12L, date.minusDays(1), date, BookingStatus.ACTIVE, "", guest,
+				secondProperty);
+		Mockito.when(bookingRepository.findArrivals(date, BookingStatus.ACTIVE)).thenReturn(List.of(arrival));
+		Mockito.when(bookingRepository.findDepartures(date, BookingStatus.ACTIVE))
+				.thenReturn(List.of(departure, secondDeparture));
+		// Executing
+		BookingManifestDTO obtained = service.findManifest(date);
+		// Validating
+		assertEquals(date, obtained.date());
+		assertThat(obtained.properties()).extracting(PropertyManifestDTO::propertyId).containsExactly(1L, 2L);
+		assertThat(obtained.properties().get(0).arrivals()).isEmpty();
+		assertThat(obtained.properties().get(0).departures()).extracting(BookingResponseDTO::id).containsExactly(11L);
+		assertThat(obtained.properties().get(1).arrivals()).extracting(BookingResponseDTO::id).containsExactly(10L);
+		assertThat(obtained.properties().get(1).departures()).extracting(BookingResponseDTO::id).containsExactly(12L);
+	}
+
+	@Test
+	@DisplayName("Updating a booking evicts the manifests of its old and new dates")
+	void updateEvictsManifests() {
+		// Preparing
+		LocalDate start = LocalDate.now().plusDays(1);
+		User guest = buildUserEntity(1L, "email@test.com", UserType.GUEST);
+		Booking booking = buildBookingEntity(1L, start, start.plusDays(2), BookingStatus.ACTIVE, "", guest,
+				buildPropertyEntity(1L, "description", null, null));
+		UpdateBookingDTO bookingDTO = UpdateBookingDTO.builder().userId(1L).startDate(start.plusDays(2))
+				.endDate(start.plusDays(4)).build();
+		Mockito.when(bookingRepository.findWithPropertyAndUserById(1L)).thenReturn(Optional.of(booking));
+		Mockito.when(userService.findUserById(1L)).thenReturn(guest);
+		Mockito.when(bookingRepository.save(booking)).thenReturn(booking);
+		Cache manifests = Mockito.mock(Cache.class);
+		Mockito.when(cacheManager.getCache(CacheConfig.MANIFESTS)).thenReturn(manifests);
+		// Executing
+		service.update(1L, bookingDTO);
+		// Validating
+		verify(manifests).evict(start);
+		verify(manifests).evict(start.plusDays(2));
+		verify(manifests).evict(start.plusDays(4));
+		verify(manifests, times(3)).evict(any());
 	}
 
 	@Test
@@ -233,7 +432,7 @@ class BookingServiceTest {
 		Booking bookingEntity = buildBookingEntity(1L, LocalDate.now().plusDays(1), LocalDate.now().plusDays(2),
 				BookingStatus.ACTIVE, "", buildUserEntity(1L, "email@test.com", UserType.GUEST),
 				buildPropertyEntity(1L, "description", null, null));
-		Mockito.when(bookingRepository.findById(anyLong())).thenReturn(Optional.of(bookingEntity));
+		Mockito.when(bookingRepository.findWithPropertyAndUserById(anyLong())).thenReturn(Optional.of(bookingEntity));
 		Booking bookingExpected = bookingEntity;
 		bookingExpected.setStatus(BookingStatus.CANCELED);
 		Mockito.when(bookingRepository.save(bookingEntity)).thenReturn(bookingExpected);
@@ -246,7 +445,7 @@ class BookingServiceTest {
 				.hasFieldOrPropertyWithValue("propertyDescription", bookingExpected.getProperty().getDescription())
 				.hasFieldOrPropertyWithValue("emailUser", bookingExpected.getUser().getEmail());
 		;
-		verify(bookingRepository, times(1)).findById(anyLong());
+		verify(bookingRepository, times(1)).findWithPropertyAndUserById(anyLong());
 	}
 
 	@Test
@@ -255,7 +454,7 @@ class BookingServiceTest {
 		Booking bookingEntity = buildBookingEntity(1L, LocalDate.now().plusDays(1), LocalDate.now().plusDays(2),
 				BookingStatus.ACTIVE, "", buildUserEntity(1L, "email@test.com", UserType.GUEST),
 				buildPropertyEntity(1L, "description", null, null));
-		Mockito.when(bookingRepository.findById(anyLong())).thenReturn(Optional.of(bookingEntity));
+		Mockito.when(bookingRepository.findWithPropertyAndUserById(anyLong())).thenReturn(Optional.of(bookingEntity));
 		Booking bookingExpected = bookingEntity;
 		RebookingCanceledDTO rebookingDTO = RebookingCanceledDTO.builder().details("details")
 				.startDate(LocalDate.now().plusDays(1)).endDate(LocalDate.now().plusDays(2)).build();
@@ -273,10 +472,49 @@ class BookingServiceTest {
 				.hasFieldOrPropertyWithValue("propertyDescription", bookingExpected.getProperty().getDescription())
 				.hasFieldOrPropertyWithValue("emailUser", bookingExpected.getUser().getEmail());
 		;
-		verify(bookingRepository, times(1)).findById(anyLong());
+		verify(bookingRepository, times(1)).findWithPropertyAndUserById(anyLong());
 		verify(bookingRepository, times(1)).save(any(Booking.class));
 	}
 
+	@Test
+	@DisplayName("Creating a batch of bookings with an item rejected")
+	void createBookingsBatch() {
+		// Preparing
+		User userGuest = buildUserEntity(1L, "emailtest@email.com", UserType.GUEST);
+		Property property = buildPropertyEntity(1L, "description", null, null);
+		CreateBookingDTO accepted = CreateBookingDTO.builder().userId(1L).propertyId(1L)
+				.startDate(LocalDate.now().plusDays(1)).endDate(LocalDate.now().plusDays(2)).build();
+		CreateBookingDTO conflicting = CreateBookingDTO.builder().userId(1L).propertyId(1L)
+				.startDate(LocalDate.now().plusDays(1)).endDate(LocalDate.now().plusDays(3)).build();
+		CreateBookingDTO unknownProperty = CreateBookingDTO.builder().userId(1L).propertyId(2L)
+				.startDate(LocalDate.now().plusDays(1)).endDate(LocalDate.now().plusDays(2)).build();
+		List<CreateBookingDTO> batch = List.of(accepted, conflicting, unknownProperty);
+		Mockito.when(userService.findUsersByIds(Set.of(1L))).thenReturn(Map.of(1L, userGuest));
+		Mockito.when(propertyService.findPropertiesByIds(Set.of(1L, 2L))).thenReturn(Map.of(1L, property));
+		BatchAvailability availability = new BatchAvailability();
+		Mockito.when(bookingValidator.loadBatchAvailability(batch)).thenReturn(availability);
+		Mockito.doNothing().when(bookingValidator).validateBatchAvailability(availability, accepted);
+		Mockito.doThrow(new BusinessException("Booking not available for this property in this date"))
+				.when(bookingValidator).validateBatchAvailability(availability, conflicting);
+		// Executing
+		List<BookingBatchResultDTO> obtained = service.createBookings(batch);
+		// Validating
+		assertThat(obtained).extracting(BookingBatchResultDTO::status).containsExactly(HttpStatus.CREATED.value(),
+				HttpStatus.BAD_REQUEST.value(), HttpStatus.NOT_FOUND.value());
+		assertThat(obtained.get(0).booking()).hasFieldOrPropertyWithValue("status", BookingStatus.ACTIVE)
+				.hasFieldOrPropertyWithValue("emailUser", userGuest.getEmail());
+		assertTrue(availability.hasOverlap(1L, accepted.startDate(), accepted.endDate()));
+		verify(bookingRepository, times(1)).saveAll(anyCollection());
+	}
+
+	@Test
+	@DisplayName("Creating an empty batch of bookings")
+	void createBookingsEmptyBatch() {
+		List<CreateBookingDTO> batch = List.of();
+		assertThrows(BusinessException.class, () -> service.createBookings(batch));
+		verify(bookingRepository, never()).saveAll(anyCollection());
+	}
+
 	private Booking buildBookingEntity(Long id, LocalDate startDate, LocalDate endDate, BookingStatus status,
 			String details, User user, Property property) {
 		return Booking.builder().id(id).details(details).status(status).user(user).property(property)
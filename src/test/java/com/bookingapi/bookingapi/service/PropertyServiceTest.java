@@ -1,12 +1,17 @@
 package com.bookingapi.bookingapi.service;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
+import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.LongStream;
 
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -15,12 +20,20 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
 
+import com.bookingapi.bookingapi.exception.BusinessException;
 import com.bookingapi.bookingapi.model.dto.requestbody.PropertyDTO;
+import com.bookingapi.bookingapi.model.dto.responsebody.DateRangeDTO;
+import com.bookingapi.bookingapi.model.dto.responsebody.PropertyAvailabilityResponseDTO;
 import com.bookingapi.bookingapi.model.dto.responsebody.PropertyResponseDTO;
 import com.bookingapi.bookingapi.model.entity.Property;
 import com.bookingapi.bookingapi.model.entity.User;
 import com.bookingapi.bookingapi.repository.PropertyRepository;
+import com.bookingapi.bookingapi.service.availability.DayRange;
+import com.bookingapi.bookingapi.service.availability.PropertyAvailabilityIndex;
+
+import jakarta.persistence.EntityNotFoundException;
 
 @ExtendWith(MockitoExtension.class)
 class PropertyServiceTest {
@@ -34,6 +47,9 @@ class PropertyServiceTest {
 	@Mock
 	private PropertyRepository propertyRepository;
 
+	@Mock
+	private PropertyAvailabilityIndex availabilityIndex;
+
 	@Test
 	@DisplayName("Creating a property")
 	void createPropertyTest() {
@@ -58,11 +74,127 @@ class PropertyServiceTest {
 	@Test
 	@DisplayName("Find all properties")
 	void findAllTest() {
-		List<Property> lstProperties = List
-				.of(Property.builder().description("Description").manager(new User()).owner(new User()).id(1L).build());
-		Mockito.when(propertyRepository.findAll()).thenReturn(lstProperties);
-		List<PropertyResponseDTO> obtained = service.findAll();
-		assertThat(obtained).hasSameSizeAs(lstProperties);
-		verify(propertyRepository, times(1)).findAll();
+		List<PropertyResponseDTO> lstProperties = List.of(PropertyResponseDTO.builder().id(1L).description("Description")
+				.managerEmail("manager@test.com").ownerEmail("owner@test.com").activeBookings(2).build());
+		Mockito.when(propertyRepository.findPropertyResponsesAfter(0L, PageRequest.ofSize(10))).thenReturn(lstProperties);
+		List<PropertyResponseDTO> obtained = service.findAll(null, 10);
+		assertThat(obtained).isEqualTo(lstProperties);
+		verify(propertyRepository, times(1)).findPropertyResponsesAfter(0L, PageRequest.ofSize(10));
+	}
+
+	@Test
+	@DisplayName("Find all properties with a limit out of range")
+	void findAllInvalidLimitTest() {
+		assertThrows(BusinessException.class, () -> service.findAll(null, 0));
+		assertThrows(BusinessException.class, () -> service.findAll(null, PropertyService.MAX_PAGE_LIMIT + 1));
+		verify(propertyRepository, never()).findPropertyResponsesAfter(anyLong(), any());
+	}
+
+	@Test
+	@DisplayName("Stream all properties after an ID")
+	void streamAllTest() {
+		// Preparing
+		List<PropertyResponseDTO> lstProperties = List.of(PropertyResponseDTO.builder().id(2L).build(),
+				PropertyResponseDTO.builder().id(3L).build());
+		Mockito.when(propertyRepository.streamPropertyResponsesAfter(1L)).thenReturn(lstProperties.stream());
+		List<PropertyResponseDTO> obtained = new ArrayList<>();
+		// Executing
+		service.streamAll(1L, obtained::add);
+		// Validating
+		assertThat(obtained).isEqualTo(lstProperties);
+	}
+
+	@Test
+	@DisplayName("Find the availability of a property splits the range into free and occupied days")
+	void findAvailabilityTest() {
+		// Preparing
+		LocalDate from = LocalDate.of(2099, 1, 1);
+		LocalDate to = LocalDate.of(2099, 2, 1);
+		Mockito.when(availabilityIndex.isLoaded(1L)).thenReturn(true);
+		Mockito.when(availabilityIndex.findOccupiedRanges(1L, from, to)).thenReturn(
+				List.of(new DayRange(from, from.plusDays(3)), new DayRange(from.plusDays(10), from.plusDays(12))));
+		// Executing
+		PropertyAvailabilityResponseDTO obtained = service.findAvailability(1L, from, to);
+		// Validating
+		assertThat(obtained.occupied()).containsExactly(new DateRangeDTO(from, from.plusDays(3)),
+				new DateRangeDTO(from.plusDays(10), from.plusDays(12)));
+		assertThat(obtained.free()).containsExactly(new DateRangeDTO(from.plusDays(3), from.plusDays(10)),
+				new DateRangeDTO(from.plusDays(12), to));
+		verify(propertyRepository, never()).existsById(anyLong());
+	}
+
+	@Test
+	@DisplayName("Find the availability of a property with an invalid range or an unknown property")
+	void findAvailabilityInvalidTest() {
+		LocalDate from = LocalDate.of(2099, 1, 1);
+		assertThrows(BusinessException.class, () -> service.findAvailability(1L, from, from));
+		assertThrows(BusinessException.class,
+				() -> service.findAvailability(1L, from, from.plusDays(PropertyService.MAX_AVAILABILITY_DAYS + 1)));
+		Mockito.when(propertyRepository.existsById(99L)).thenReturn(false);
+		assertThrows(EntityNotFoundException.class, () -> service.findAvailability(99L, from, from.plusDays(1)));
+		verify(availabilityIndex, never()).findOccupiedRanges(anyLong(), any(), any());
+	}
+
+	@Test
+	@DisplayName("Search available properties through the availability index")
+	void findAvailableTest() {
+		// Preparing
+		LocalDate start = LocalDate.of(2099, 1, 1);
+		LocalDate end = LocalDate.of(2099, 1, 5);
+		List<PropertyResponseDTO> lstProperties = List.of(PropertyResponseDTO.builder().id(3L).build());
+		Mockito.when(availabilityIndex.isEnabled()).thenReturn(true);
+		Mockito.when(propertyRepository.findIdsAfter(1L, PageRequest.ofSize(PropertyService.AVAILABILITY_SEARCH_WINDOW)))
+				.thenReturn(List.of(2L, 3L, 4L));
+		Mockito.when(availabilityIndex.findAvailableProperties(List.of(2L, 3L, 4L), start, end, 1))
+				.thenReturn(List.of(3L));
+		Mockito.when(propertyRepository.findPropertyResponsesByIds(List.of(3L))).thenReturn(lstProperties);
+		// Executing
+		List<PropertyResponseDTO> obtained = service.findAvailable(start, end, 1L, 1);
+		// Validating
+		assertThat(obtained).isEqualTo(lstProperties);
+		verify(propertyRepository, never()).findAvailablePropertyResponsesAfter(anyLong(), any(), any(), any());
+	}
+
+	@Test
+	@DisplayName("Search available properties one window of candidates at a time until the page is full")
+	void findAvailableByWindowsTest() {
+		// Preparing
+		LocalDate start = LocalDate.of(2099, 1, 1);
+		LocalDate end = LocalDate.of(2099, 1, 5);
+		int window = PropertyService.AVAILABILITY_SEARCH_WINDOW;
+		List<Long> firstWindow = LongStream.rangeClosed(1, window).boxed().toList();
+		List<Long> secondWindow = LongStream.rangeClosed(window + 1L, 2L * window).boxed().toList();
+		List<PropertyResponseDTO> lstProperties = List.of(PropertyResponseDTO.builder().id(1L).build(),
+				PropertyResponseDTO.builder().id(window + 1L).build());
+		Mockito.when(availabilityIndex.isEnabled()).thenReturn(true);
+		Mockito.when(propertyRepository.findIdsAfter(0L, PageRequest.ofSize(window))).thenReturn(firstWindow);
+		Mockito.when(propertyRepository.findIdsAfter((long) window, PageRequest.ofSize(window)))
+				.thenReturn(secondWindow);
+		Mockito.when(availabilityIndex.findAvailableProperties(firstWindow, start, end, 2)).thenReturn(List.of(1L));
+		Mockito.when(availabilityIndex.findAvailableProperties(secondWindow, start, end, 1))
+				.thenReturn(List.of(window + 1L));
+		Mockito.when(propertyRepository.findPropertyResponsesByIds(List.of(1L, window + 1L))).thenReturn(lstProperties);
+		// Executing
+		List<PropertyResponseDTO> obtained = service.findAvailable(start, end, null, 2);
+		// Validating
+		assertThat(obtained).isEqualTo(lstProperties);
+		// the page was full after the second window, so no later candidate was read
+		verify(propertyRepository, times(2)).findIdsAfter(anyLong(), any());
+	}
+
+	@Test
+	@DisplayName("Search available properties in the database when the index is disabled")
+	void findAvailableWithoutIndexTest() {
+		// Preparing
+		LocalDate start = LocalDate.of(2099, 1, 1);
+		LocalDate end = LocalDate.of(2099, 1, 5);
+		List<PropertyResponseDTO> lstProperties = List.of(PropertyResponseDTO.builder().id(1L).build());
+		Mockito.when(propertyRepository.findAvailablePropertyResponsesAfter(0L, start, end, PageRequest.ofSize(10)))
+				.thenReturn(lstProperties);
+		// Executing
+		List<PropertyResponseDTO> obtained = service.findAvailable(start, end, null, 10);
+		// Validating
+		assertThat(obtained).isEqualTo(lstProperties);
+		verify(availabilityIndex, never()).findAvailableProperties(any(), any(), any(), Mockito.anyInt());
 	}
 }
@@ -0,0 +1,84 @@
+package com.bookingapi.bookingapi.service.availability;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.bookingapi.bookingapi.enumerator.BookingStatus;
+import com.bookingapi.bookingapi.service.availability.IntervalTree.Interval;
+
+class IntervalTreeTest {
+
+	@Test
+	@DisplayName("Finds intervals overlapping the edges or fully inside the range")
+	void findOverlappingTest() {
+		IntervalTree tree = new IntervalTree();
+		tree.upsert(new Interval(1L, 10, 15, BookingStatus.ACTIVE));
+		tree.upsert(new Interval(2L, 20, 30, BookingStatus.BLOCKED));
+		tree.upsert(new Interval(3L, 40, 45, BookingStatus.ACTIVE));
+		assertTrue(tree.anyOverlap(12, 13, null));
+		assertTrue(tree.anyOverlap(18, 50, null));
+		assertFalse(tree.anyOverlap(16, 19, null));
+		assertFalse(tree.anyOverlap(15, 20, null));
+		assertTrue(tree.anyOverlap(5, 50, null));
+		assertThat(tree.findOverlapping(14, 41)).extracting(Interval::id).containsExactly(1L, 2L, 3L);
+	}
+
+	@Test
+	@DisplayName("Ignores the excluded booking when looking for overlaps")
+	void anyOverlapExcludingBookingTest() {
+		IntervalTree tree = new IntervalTree();
+		tree.upsert(new Interval(1L, 10, 15, BookingStatus.ACTIVE));
+		assertFalse(tree.anyOverlap(11, 12, 1L));
+		assertTrue(tree.anyOverlap(11, 12, 2L));
+	}
+
+	@Test
+	@DisplayName("Updating and removing a booking keeps the tree consistent")
+	void upsertAndRemoveTest() {
+		IntervalTree tree = new IntervalTree();
+		tree.upsert(new Interval(1L, 10, 15, BookingStatus.ACTIVE));
+		tree.upsert(new Interval(1L, 30, 35, BookingStatus.ACTIVE));
+		assertEquals(1, tree.size());
+		assertFalse(tree.anyOverlap(10, 15, null));
+		assertTrue(tree.anyOverlap(33, 34, null));
+		tree.remove(1L);
+		assertEquals(0, tree.size());
+		assertFalse(tree.anyOverlap(0, 100, null));
+	}
+
+	@Test
+	@DisplayName("Matches a linear scan on random intervals")
+	void randomIntervalsTest() {
+		Random random = new Random(42);
+		IntervalTree tree = new IntervalTree();
+		List<Interval> intervals = new ArrayList<>();
+		for (long id = 0; id < 2_000; id++) {
+			long start = random.nextInt(10_000);
+			Interval interval = new Interval(id, start, start + random.nextInt(20), BookingStatus.ACTIVE);
+			intervals.add(interval);
+			tree.upsert(interval);
+		}
+		for (int i = 0; i < 500; i++) {
+			tree.remove(intervals.remove(random.nextInt(intervals.size())).id());
+		}
+		for (int i = 0; i < 1_000; i++) {
+			long start = random.nextInt(10_000);
+			long end = start + random.nextInt(50);
+			List<Long> expected = intervals.stream().filter(interval -> IntervalTree.overlaps(interval, start, end))
+					.map(Interval::id).toList();
+			assertThat(tree.findOverlapping(start, end)).extracting(Interval::id)
+					.containsExactlyInAnyOrderElementsOf(expected);
+			assertEquals(!expected.isEmpty(), tree.anyOverlap(start, end, null));
+		}
+	}
+
+}
@@ -0,0 +1,217 @@
+package com.bookingapi.bookingapi.service.availability;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.bookingapi.bookingapi.enumerator.BookingStatus;
+import com.bookingapi.bookingapi.model.entity.Booking;
+import com.bookingapi.bookingapi.model.entity.Property;
+import com.bookingapi.bookingapi.model.projection.BookingInterval;
+import com.bookingapi.bookingapi.model.projection.PropertyBookingInterval;
+import com.bookingapi.bookingapi.repository.BookingRepository;
+
+@ExtendWith(MockitoExtension.class)
+class PropertyAvailabilityIndexTest {
+
+	private static final Long ID_PROPERTY = 1L;
+	private static final LocalDate START_DATE = LocalDate.of(2099, 12, 1);
+	private static final LocalDate END_DATE = LocalDate.of(2099, 12, 5);
+
+	@Mock
+	private BookingRepository bookingRepository;
+
+	private PropertyAvailabilityIndex index;
+
+	@BeforeEach
+	void setup() {
+		index = new PropertyAvailabilityIndex(bookingRepository, true);
+		Mockito.lenient().when(bookingRepository.findBlockIntervalsFromProperty(ID_PROPERTY))
+				.thenReturn(List.of(new BookingInterval(1L, START_DATE, END_DATE, BookingStatus.ACTIVE)));
+	}
+
+	@Test
+	@DisplayName("Loads a property once and answers overlap checks from memory")
+	void hasOverlapTest() {
+		assertTrue(index.hasOverlap(ID_PROPERTY, START_DATE.plusDays(1), END_DATE.plusDays(1), null));
+		assertFalse(index.hasOverlap(ID_PROPERTY, START_DATE.plusDays(1), END_DATE.plusDays(1), 1L));
+		assertFalse(index.hasOverlap(ID_PROPERTY, END_DATE, END_DATE.plusDays(2), null));
+		verify(bookingRepository, times(1)).findBlockIntervalsFromProperty(ID_PROPERTY);
+	}
+
+	@Test
+	@DisplayName("Saved and removed bookings are reflected in the index")
+	void onBookingChangesTest() {
+		index.hasOverlap(ID_PROPERTY, START_DATE, END_DATE, null);
+		Booking booking = Booking.builder().id(2L).property(Property.builder().id(ID_PROPERTY).build())
+				.startDate(END_DATE.plusDays(10)).endDate(END_DATE.plusDays(12)).status(BookingStatus.BLOCKED).build();
+		index.onBookingSaved(booking);
+		assertTrue(index.hasOverlap(ID_PROPERTY, END_DATE.plusDays(11), END_DATE.plusDays(12), null));
+
+		booking.setStatus(BookingStatus.CANCELED);
+		index.onBookingSaved(booking);
+		assertFalse(index.hasOverlap(ID_PROPERTY, END_DATE.plusDays(11), END_DATE.plusDays(12), null));
+
+		Booking firstBooking = Booking.builder().id(1L).property(Property.builder().id(ID_PROPERTY).build()).build();
+		index.onBookingRemoved(firstBooking);
+		assertFalse(index.hasOverlap(ID_PROPERTY, START_DATE, END_DATE, null));
+	}
+
+	@Test
+	@DisplayName("Occupied days follow the booking changes without new queries")
+	void findOccupiedRangesTest() {
+		LocalDate from = START_DATE.minusDays(10);
+		LocalDate to = END_DATE.plusDays(30);
+		assertThat(index.findOccupiedRanges(ID_PROPERTY, from, to)).containsExactly(new DayRange(START_DATE, END_DATE));
+
+		Booking booking = Booking.builder().id(2L).property(Property.builder().id(ID_PROPERTY).build())
+				.startDate(END_DATE).endDate(END_DATE.plusDays(2)).status(BookingStatus.BLOCKED).build();
+		index.onBookingSaved(booking);
+		assertThat(index.findOccupiedRanges(ID_PROPERTY, from, to))
+				.containsExactly(new DayRange(START_DATE, END_DATE.plusDays(2)));
+
+		index.onBookingRemoved(Booking.builder().id(1L).property(Property.builder().id(ID_PROPERTY).build()).build());
+		assertThat(index.findOccupiedRanges(ID_PROPERTY, from, to))
+				.containsExactly(new DayRange(END_DATE, END_DATE.plusDays(2)));
+		verify(bookingRepository, times(1)).findBlockIntervalsFromProperty(ID_PROPERTY);
+	}
+
+	@Test
+	@DisplayName("Searching many properties loads them in one query and keeps the informed order")
+	void findAvailablePropertiesTest() {
+		// Preparing
+		List<Long> propertyIds = LongStream.rangeClosed(1, 5_000).boxed().toList();
+		Mockito.when(bookingRepository.findBlockIntervalsFromProperties(propertyIds))
+				.thenReturn(List.of(new PropertyBookingInterval(2L, 10L, START_DATE, END_DATE, BookingStatus.ACTIVE),
+						new PropertyBookingInterval(4L, 11L, START_DATE, END_DATE, BookingStatus.BLOCKED)));
+		// Executing
+		List<Long> obtained = index.findAvailableProperties(propertyIds, START_DATE, END_DATE, 3);
+		List<Long> all = index.findAvailableProperties(propertyIds, START_DATE, END_DATE, Integer.MAX_VALUE);
+		// Validating
+		assertThat(obtained).containsExactly(1L, 3L, 5L);
+		assertThat(all).hasSize(4_998).doesNotContain(2L, 4L);
+		verify(bookingRepository, times(1)).findBlockIntervalsFromProperties(anyCollection());
+		verify(bookingRepository, never()).findBlockIntervalsFromProperty(anyLong());
+	}
+
+	@Test
+	@DisplayName("The window of a default-limit search is split across the fork-join pool")
+	void partitionSizeTest() {
+		// the window PropertyService hands over for any limit up to 512
+		int window = 1_024;
+		assertThat(PropertyAvailabilityIndex.partitionSize(window)).isLessThanOrEqualTo(window / 2);
+		assertThat(PropertyAvailabilityIndex.partitionSize(10)).isGreaterThanOrEqualTo(10);
+	}
+
+	@Test
+	@DisplayName("A search over a property whose load was not kept answers it from that load")
+	void findAvailablePropertiesDuringUncommittedWriteTest() {
+		// Preparing
+		List<Long> propertyIds = LongStream.rangeClosed(1, 40).boxed().toList();
+		Mockito.when(bookingRepository.findBlockIntervalsFromProperties(propertyIds)).thenReturn(
+				List.of(new PropertyBookingInterval(ID_PROPERTY, 1L, START_DATE, END_DATE, BookingStatus.ACTIVE)));
+		Booking booking = Booking.builder().id(2L).property(Property.builder().id(ID_PROPERTY).build())
+				.startDate(END_DATE.plusDays(10)).endDate(END_DATE.plusDays(12)).status(BookingStatus.ACTIVE).build();
+		TransactionSynchronizationManager.initSynchronization();
+		try {
+			index.onBookingSaved(booking);
+			// Executing
+			List<Long> obtained = index.findAvailableProperties(propertyIds, START_DATE, END_DATE, 100);
+			// Validating
+			assertThat(obtained).hasSize(39).doesNotContain(ID_PROPERTY);
+			assertFalse(index.isLoaded(ID_PROPERTY));
+			verify(bookingRepository, never()).findBlockIntervalsFromProperty(anyLong());
+		} finally {
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+	}
+
+	@Test
+	@DisplayName("A property loaded while one of its bookings is uncommitted is not kept")
+	void loadDuringUncommittedWriteTest() {
+		// Preparing
+		Booking booking = Booking.builder().id(2L).property(Property.builder().id(ID_PROPERTY).build())
+				.startDate(END_DATE.plusDays(10)).endDate(END_DATE.plusDays(12)).status(BookingStatus.ACTIVE).build();
+		TransactionSynchronizationManager.initSynchronization();
+		try {
+			index.onBookingSaved(booking);
+			// Executing
+			index.hasOverlap(ID_PROPERTY, START_DATE, END_DATE, null);
+			// Validating
+			assertFalse(index.isLoaded(ID_PROPERTY));
+			TransactionSynchronizationManager.getSynchronizations()
+					.forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+		} finally {
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+		index.hasOverlap(ID_PROPERTY, START_DATE, END_DATE, null);
+		assertTrue(index.isLoaded(ID_PROPERTY));
+	}
+
+	@Test
+	@DisplayName("A calendar loaded while a booking of the property is written is not kept")
+	void findOccupiedRangesDuringWriteTest() {
+		// Preparing
+		LocalDate from = START_DATE.minusDays(10);
+		LocalDate to = END_DATE.plusDays(30);
+		Booking booking = Booking.builder().id(2L).property(Property.builder().id(ID_PROPERTY).build())
+				.startDate(END_DATE.plusDays(10)).endDate(END_DATE.plusDays(12)).status(BookingStatus.ACTIVE).build();
+		// the booking is flushed and committed after the calendar read the property
+		Mockito.when(bookingRepository.findBlockIntervalsFromProperty(ID_PROPERTY)).thenAnswer(invocation -> {
+			index.onBookingSaved(booking);
+			return List.of(new BookingInterval(1L, START_DATE, END_DATE, BookingStatus.ACTIVE));
+		}).thenReturn(List.of(new BookingInterval(1L, START_DATE, END_DATE, BookingStatus.ACTIVE),
+				new BookingInterval(2L, booking.getStartDate(), booking.getEndDate(), BookingStatus.ACTIVE)));
+		// Executing
+		List<DayRange> stale = index.findOccupiedRanges(ID_PROPERTY, from, to);
+		// Validating
+		assertThat(stale).containsExactly(new DayRange(START_DATE, END_DATE));
+		assertFalse(index.isLoaded(ID_PROPERTY));
+		assertTrue(index.hasOverlap(ID_PROPERTY, booking.getStartDate(), booking.getEndDate(), null));
+		assertTrue(index.isLoaded(ID_PROPERTY));
+		verify(bookingRepository, times(2)).findBlockIntervalsFromProperty(ID_PROPERTY);
+	}
+
+	@Test
+	@DisplayName("A calendar loaded while a booking of the property is flushed but uncommitted is not kept")
+	void findOccupiedRangesDuringUncommittedWriteTest() {
+		// Preparing
+		Booking booking = Booking.builder().id(2L).property(Property.builder().id(ID_PROPERTY).build())
+				.startDate(END_DATE.plusDays(10)).endDate(END_DATE.plusDays(12)).status(BookingStatus.ACTIVE).build();
+		TransactionSynchronizationManager.initSynchronization();
+		try {
+			index.onBookingSaved(booking);
+			// Executing
+			index.findOccupiedRanges(ID_PROPERTY, START_DATE, END_DATE.plusDays(30));
+			// Validating
+			assertFalse(index.isLoaded(ID_PROPERTY));
+			TransactionSynchronizationManager.getSynchronizations()
+					.forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+		} finally {
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+		assertFalse(index.isLoaded(ID_PROPERTY));
+		index.findOccupiedRanges(ID_PROPERTY, START_DATE, END_DATE.plusDays(30));
+		assertTrue(index.isLoaded(ID_PROPERTY));
+	}
+
+}
@@ -0,0 +1,84 @@
+package com.bookingapi.bookingapi.service.availability;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.bookingapi.bookingapi.enumerator.BookingStatus;
+import com.bookingapi.bookingapi.service.availability.DayBitmap.Run;
+import com.bookingapi.bookingapi.service.availability.IntervalTree.Interval;
+
+class PropertyOccupancyTest {
+
+	@Test
+	@DisplayName("Adjacent bookings are merged and the check-out day is free")
+	void occupiedRunsTest() {
+		PropertyOccupancy occupancy = new PropertyOccupancy();
+		occupancy.upsert(new Interval(1L, 10, 15, BookingStatus.ACTIVE));
+		occupancy.upsert(new Interval(2L, 15, 20, BookingStatus.BLOCKED));
+		occupancy.upsert(new Interval(3L, 30, 32, BookingStatus.ACTIVE));
+		assertThat(occupancy.occupiedRuns(0, 100)).containsExactly(new Run(10, 20), new Run(30, 32));
+		assertThat(occupancy.occupiedRuns(12, 31)).containsExactly(new Run(12, 20), new Run(30, 31));
+		assertThat(occupancy.occupiedRuns(20, 30)).isEmpty();
+	}
+
+	@Test
+	@DisplayName("Moving and removing a booking keeps the days of the others")
+	void upsertAndRemoveTest() {
+		PropertyOccupancy occupancy = new PropertyOccupancy();
+		occupancy.upsert(new Interval(1L, 10, 20, BookingStatus.ACTIVE));
+		occupancy.upsert(new Interval(2L, 15, 25, BookingStatus.BLOCKED));
+		occupancy.upsert(new Interval(1L, 40, 45, BookingStatus.ACTIVE));
+		assertThat(occupancy.occupiedRuns(0, 100)).containsExactly(new Run(15, 25), new Run(40, 45));
+		occupancy.remove(2L);
+		assertThat(occupancy.occupiedRuns(0, 100)).containsExactly(new Run(40, 45));
+	}
+
+	@Test
+	@DisplayName("Runs crossing the bitmap chunks match a day by day scan on random bookings")
+	void randomIntervalsTest() {
+		Random random = new Random(42);
+		PropertyOccupancy occupancy = new PropertyOccupancy();
+		List<Interval> intervals = new ArrayList<>();
+		for (long id = 0; id < 1_000; id++) {
+			long start = random.nextInt(20_000) - 10_000;
+			Interval interval = new Interval(id, start, start + 1 + random.nextInt(30), BookingStatus.ACTIVE);
+			intervals.add(interval);
+			occupancy.upsert(interval);
+		}
+		for (int i = 0; i < 300; i++) {
+			occupancy.remove(intervals.remove(random.nextInt(intervals.size())).id());
+		}
+		for (int i = 0; i < 100; i++) {
+			long from = random.nextInt(20_000) - 10_000;
+			long to = from + random.nextInt(2 * 4096);
+			assertThat(occupancy.occupiedRuns(from, to)).isEqualTo(scan(intervals, from, to));
+		}
+	}
+
+	private static List<Run> scan(List<Interval> intervals, long from, long to) {
+		List<Run> runs = new ArrayList<>();
+		Long runStart = null;
+		for (long day = from; day < to; day++) {
+			long current = day;
+			boolean occupied = intervals.stream()
+					.anyMatch(interval -> IntervalTree.overlaps(interval, current, current + 1));
+			if (occupied && runStart == null) {
+				runStart = day;
+			} else if (!occupied && runStart != null) {
+				runs.add(new Run(runStart, day));
+				runStart = null;
+			}
+		}
+		if (runStart != null) {
+			runs.add(new Run(runStart, to));
+		}
+		return runs;
+	}
+
+}
@@ -0,0 +1,140 @@
+package com.bookingapi.bookingapi.service.idempotency;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.time.LocalDate;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.bookingapi.bookingapi.config.CacheConfig;
+import com.bookingapi.bookingapi.enumerator.BookingStatus;
+import com.bookingapi.bookingapi.exception.BusinessException;
+import com.bookingapi.bookingapi.model.dto.requestbody.CreateBookingDTO;
+import com.bookingapi.bookingapi.model.dto.responsebody.BookingResponseDTO;
+import com.bookingapi.bookingapi.model.entity.IdempotencyRecord;
+import com.bookingapi.bookingapi.repository.IdempotencyRecordRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+@ExtendWith(MockitoExtension.class)
+class IdempotencyServiceTest {
+
+	private static final String KEY = "retry-1";
+	private static final CreateBookingDTO REQUEST = CreateBookingDTO.builder().propertyId(1L).userId(1L)
+			.startDate(LocalDate.of(2100, 1, 1)).endDate(LocalDate.of(2100, 1, 3)).build();
+	private static final BookingResponseDTO RESPONSE = BookingResponseDTO.builder().id(10L)
+			.propertyDescription("description").emailUser("email@test.com").startDate(REQUEST.startDate())
+			.endDate(REQUEST.endDate()).status(BookingStatus.ACTIVE).build();
+
+	@Mock
+	private IdempotencyRecordRepository repository;
+
+	@Mock
+	private PlatformTransactionManager transactionManager;
+
+	private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+	private IdempotencyService service;
+
+	@BeforeEach
+	void setup() {
+		service = new IdempotencyService(repository, new ConcurrentMapCacheManager(CacheConfig.IDEMPOTENT_RESPONSES),
+				objectMapper, transactionManager, 24);
+	}
+
+	@Test
+	@DisplayName("Without a key the write runs and nothing is stored")
+	void executeWithoutKey() {
+		assertEquals(RESPONSE, service.execute(null, REQUEST, () -> RESPONSE));
+		assertThat(service.findResponse(null, REQUEST)).isEmpty();
+		verify(repository, never()).saveAndFlush(any());
+	}
+
+	@Test
+	@DisplayName("The response of a write is stored and replayed from memory")
+	void executeStoresResponse() throws Exception {
+		// Preparing
+		Mockito.when(repository.findById(KEY)).thenReturn(Optional.empty());
+		ArgumentCaptor<IdempotencyRecord> stored = ArgumentCaptor.forClass(IdempotencyRecord.class);
+		// Executing
+		assertThat(service.findResponse(KEY, REQUEST)).isEmpty();
+		assertEquals(RESPONSE, service.execute(KEY, REQUEST, () -> RESPONSE));
+		// Validating
+		verify(repository).saveAndFlush(stored.capture());
+		assertEquals(RESPONSE, objectMapper.readValue(stored.getValue().getResponse(), BookingResponseDTO.class));
+		assertThat(service.findResponse(KEY, REQUEST)).contains(RESPONSE);
+		verify(repository).findById(KEY);
+	}
+
+	@Test
+	@DisplayName("A key missing from memory is read back from the database")
+	void findResponseFromDatabase() throws Exception {
+		// Preparing
+		Mockito.when(repository.findById(KEY)).thenReturn(Optional.of(buildRecord(REQUEST)));
+		// Executing and validating
+		assertThat(service.findResponse(KEY, REQUEST)).contains(RESPONSE);
+		assertThat(service.findResponse(KEY, REQUEST)).contains(RESPONSE);
+		verify(repository).findById(KEY);
+	}
+
+	@Test
+	@DisplayName("A key used for another request, or invalid, is rejected")
+	void findResponseKeyReused() throws Exception {
+		// Preparing
+		CreateBookingDTO otherRequest = CreateBookingDTO.builder().propertyId(2L).userId(1L)
+				.startDate(REQUEST.startDate()).endDate(REQUEST.endDate()).build();
+		Mockito.when(repository.findById(KEY)).thenReturn(Optional.of(buildRecord(REQUEST)));
+		// Executing and validating
+		BusinessException exception = assertThrows(BusinessException.class,
+				() -> service.findResponse(KEY, otherRequest));
+		assertEquals(HttpStatus.UNPROCESSABLE_ENTITY, exception.getHttpStatus());
+		assertThrows(BusinessException.class, () -> service.findResponse("", REQUEST));
+		assertThrows(BusinessException.class, () -> service.findResponse("k".repeat(256), REQUEST));
+	}
+
+	@Test
+	@DisplayName("When a concurrent request stored the key first its response is returned")
+	void executeLosesRace() throws Exception {
+		// Preparing
+		Mockito.when(repository.saveAndFlush(any())).thenThrow(new DataIntegrityViolationException("duplicate key"));
+		Mockito.when(repository.findById(KEY)).thenReturn(Optional.of(buildRecord(REQUEST)));
+		BookingResponseDTO duplicate = BookingResponseDTO.builder().id(11L).build();
+		// Executing and validating
+		assertEquals(RESPONSE, service.execute(KEY, REQUEST, () -> duplicate));
+	}
+
+	@Test
+	@DisplayName("A failed write with no stored key fails as it is")
+	void executeFails() {
+		Mockito.when(repository.findById(KEY)).thenReturn(Optional.empty());
+		BusinessException failure = new BusinessException("overlap");
+		BusinessException obtained = assertThrows(BusinessException.class, () -> service.execute(KEY, REQUEST, () -> {
+			throw failure;
+		}));
+		assertEquals(failure, obtained);
+		verify(repository, never()).saveAndFlush(any());
+	}
+
+	private IdempotencyRecord buildRecord(CreateBookingDTO request) throws Exception {
+		return IdempotencyRecord.builder().key(KEY).fingerprint(IdempotencyService.fingerprintOf(request))
+				.response(objectMapper.writeValueAsString(RESPONSE)).build();
+	}
+
+}
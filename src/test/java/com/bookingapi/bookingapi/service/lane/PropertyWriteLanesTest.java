@@ -0,0 +1,110 @@
+package com.bookingapi.bookingapi.service.lane;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+
+import com.bookingapi.bookingapi.exception.BusinessException;
+import com.bookingapi.bookingapi.repository.BookingRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class PropertyWriteLanesTest {
+
+	@Mock
+	private BookingRepository bookingRepository;
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	private PropertyWriteLanes writeLanes;
+
+	@AfterEach
+	void shutdown() {
+		writeLanes.destroy();
+	}
+
+	@Test
+	@DisplayName("Writes of the same property run on the same lane thread")
+	void sameLaneForPropertyTest() {
+		writeLanes = new PropertyWriteLanes(bookingRepository, meterRegistry, true, 4, 10, 5_000);
+		String firstThread = writeLanes.execute(1L, () -> Thread.currentThread().getName());
+		String secondThread = writeLanes.execute(1L, () -> Thread.currentThread().getName());
+		assertEquals(firstThread, secondThread);
+		assertThat(firstThread).startsWith("booking-lane-");
+		assertThat(meterRegistry.find("booking.write.lane.queue.depth").gauges()).hasSize(4);
+	}
+
+	@Test
+	@DisplayName("Writes of a booking are routed by the property of the booking")
+	void executeForBookingTest() {
+		writeLanes = new PropertyWriteLanes(bookingRepository, meterRegistry, true, 4, 10, 5_000);
+		Mockito.when(bookingRepository.findPropertyIdById(10L)).thenReturn(Optional.of(1L));
+		String bookingThread = writeLanes.executeForBooking(10L, () -> Thread.currentThread().getName());
+		assertEquals(writeLanes.execute(1L, () -> Thread.currentThread().getName()), bookingThread);
+	}
+
+	@Test
+	@DisplayName("Exceptions thrown on the lane reach the caller unchanged")
+	void exceptionTest() {
+		writeLanes = new PropertyWriteLanes(bookingRepository, meterRegistry, true, 2, 10, 5_000);
+		BusinessException exception = assertThrows(BusinessException.class, () -> writeLanes.execute(1L, () -> {
+			throw new BusinessException("invalid");
+		}));
+		assertEquals("invalid", exception.getMessage());
+	}
+
+	@Test
+	@DisplayName("A write waiting too long on its lane gets a 503 and is dropped from the queue")
+	void timeoutTest() throws InterruptedException {
+		writeLanes = new PropertyWriteLanes(bookingRepository, meterRegistry, true, 1, 10, 100);
+		CountDownLatch release = new CountDownLatch(1);
+		AtomicBoolean queuedWriteRan = new AtomicBoolean();
+		// the first write hangs on the lane, as a wedged database call would
+		BusinessException hung = assertThrows(BusinessException.class,
+				() -> writeLanes.execute(1L, () -> await(release)));
+		BusinessException queued = assertThrows(BusinessException.class,
+				() -> writeLanes.execute(1L, () -> queuedWriteRan.getAndSet(true)));
+		release.countDown();
+		assertEquals(HttpStatus.SERVICE_UNAVAILABLE, hung.getHttpStatus());
+		assertEquals(PropertyWriteLanes.MSG_LANE_TIMEOUT, queued.getMessage());
+		assertEquals("done", writeLanes.execute(1L, () -> "done"));
+		assertFalse(queuedWriteRan.get());
+	}
+
+	@Test
+	@DisplayName("Disabled lanes run the write on the calling thread")
+	void disabledTest() {
+		writeLanes = new PropertyWriteLanes(bookingRepository, meterRegistry, false, 4, 10, 5_000);
+		String caller = Thread.currentThread().getName();
+		assertEquals(caller, writeLanes.executeForBooking(10L, () -> Thread.currentThread().getName()));
+		verify(bookingRepository, never()).findPropertyIdById(10L);
+	}
+
+	private static boolean await(CountDownLatch latch) {
+		try {
+			return latch.await(5, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException(e);
+		}
+	}
+
+}
@@ -0,0 +1,113 @@
+package com.bookingapi.bookingapi.service.lock;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.http.HttpStatus;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.bookingapi.bookingapi.enumerator.BookingStatus;
+import com.bookingapi.bookingapi.exception.BusinessException;
+import com.bookingapi.bookingapi.model.entity.Booking;
+import com.bookingapi.bookingapi.model.entity.Property;
+import com.bookingapi.bookingapi.model.projection.BookingInterval;
+import com.bookingapi.bookingapi.repository.BookingRepository;
+import com.bookingapi.bookingapi.service.availability.PropertyAvailabilityIndex;
+
+class PropertyWriteLockTest {
+
+	private final PropertyWriteLock propertyLock = new PropertyWriteLock(16, 50);
+
+	@AfterEach
+	void clearSynchronization() {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+	}
+
+	@Test
+	@DisplayName("The stripe stays locked until the transaction completes")
+	void lockReleasedAfterCompletionTest() {
+		TransactionSynchronizationManager.initSynchronization();
+		propertyLock.lock(1L);
+		assertFalse(tryLockFromAnotherThread(1L));
+		TransactionSynchronizationManager.getSynchronizations()
+				.forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+		TransactionSynchronizationManager.clearSynchronization();
+		assertTrue(tryLockFromAnotherThread(1L));
+	}
+
+	@Test
+	@DisplayName("A write flushed and rolled back leaves the availability index before the stripe is released")
+	void lockReleasedAfterIndexRollbackTest() {
+		// Preparing
+		LocalDate startDate = LocalDate.of(2099, 12, 1);
+		BookingRepository bookingRepository = Mockito.mock(BookingRepository.class);
+		Mockito.when(bookingRepository.findBlockIntervalsFromProperty(1L))
+				.thenReturn(List.of(new BookingInterval(1L, startDate, startDate.plusDays(4), BookingStatus.ACTIVE)));
+		PropertyAvailabilityIndex index = new PropertyAvailabilityIndex(bookingRepository, true);
+		index.hasOverlap(1L, startDate, startDate.plusDays(1), null);
+		TransactionSynchronizationManager.initSynchronization();
+		propertyLock.lock(1L);
+		// the update moving the booking is flushed, then the transaction fails
+		index.onBookingSaved(Booking.builder().id(1L).property(Property.builder().id(1L).build())
+				.startDate(startDate.plusDays(10)).endDate(startDate.plusDays(12)).status(BookingStatus.ACTIVE).build());
+		// Executing and Validating
+		for (TransactionSynchronization sync : TransactionSynchronizationManager.getSynchronizations()) {
+			if (tryLockFromAnotherThread(1L)) {
+				fail("The stripe was released before the index dropped the rolled back write");
+			}
+			sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+		}
+		TransactionSynchronizationManager.clearSynchronization();
+		assertFalse(index.isLoaded(1L));
+		assertTrue(tryLockFromAnotherThread(1L));
+		assertTrue(index.hasOverlap(1L, startDate, startDate.plusDays(1), null));
+	}
+
+	@Test
+	@DisplayName("Locking several properties takes each stripe once")
+	void lockAllTest() {
+		TransactionSynchronizationManager.initSynchronization();
+		List<Long> propertyIds = List.of(3L, 1L, 2L, 1L);
+		propertyLock.lockAll(propertyIds);
+		long stripes = propertyIds.stream().mapToInt(propertyLock::stripeOf).distinct().count();
+		assertEquals(stripes, TransactionSynchronizationManager.getSynchronizations().size());
+	}
+
+	@Test
+	@DisplayName("Locking outside a transaction is not allowed")
+	void lockOutsideTransactionTest() {
+		assertThrows(IllegalStateException.class, () -> propertyLock.lock(1L));
+	}
+
+	private boolean tryLockFromAnotherThread(Long propertyId) {
+		return CompletableFuture.supplyAsync(() -> {
+			TransactionSynchronizationManager.initSynchronization();
+			try {
+				propertyLock.lock(propertyId);
+				TransactionSynchronizationManager.getSynchronizations()
+						.forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+				return true;
+			} catch (BusinessException e) {
+				assertEquals(HttpStatus.CONFLICT, e.getHttpStatus());
+				return false;
+			} finally {
+				TransactionSynchronizationManager.clearSynchronization();
+			}
+		}).join();
+	}
+
+}
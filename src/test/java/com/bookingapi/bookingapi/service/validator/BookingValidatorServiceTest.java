@@ -4,13 +4,12 @@ import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
 import java.time.LocalDate;
-import java.util.ArrayList;
 import java.util.List;
 
 import org.junit.jupiter.api.DisplayName;
@@ -19,16 +18,25 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
 
 import com.bookingapi.bookingapi.enumerator.BookingStatus;
 import com.bookingapi.bookingapi.enumerator.UserType;
 import com.bookingapi.bookingapi.exception.BusinessException;
-import com.bookingapi.bookingapi.model.dto.requestbody.BlockDTO;
+import com.bookingapi.bookingapi.model.dto.requestbody.CreateBookingDTO;
 import com.bookingapi.bookingapi.model.entity.Booking;
 import com.bookingapi.bookingapi.model.entity.Property;
 import com.bookingapi.bookingapi.model.entity.User;
+import com.bookingapi.bookingapi.model.projection.BookingInterval;
+import com.bookingapi.bookingapi.model.projection.PropertyBookingInterval;
 import com.bookingapi.bookingapi.repository.BookingRepository;
+import com.bookingapi.bookingapi.service.availability.BatchAvailability;
+import com.bookingapi.bookingapi.service.availability.PropertyAvailabilityIndex;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 
 @ExtendWith(MockitoExtension.class)
 class BookingValidatorServiceTest {
@@ -36,6 +44,12 @@ class BookingValidatorServiceTest {
 	@Mock
 	private BookingRepository bookingRepository;
 
+	@Mock
+	private PropertyAvailabilityIndex availabilityIndex;
+
+	@Spy
+	private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
 	@InjectMocks
 	private BookingValidatorService validatorService;
 
@@ -62,12 +76,12 @@ class BookingValidatorServiceTest {
 		LocalDate startDate = LocalDate.now().plusDays(1);
 		LocalDate endDate = LocalDate.now().plusDays(2);
 		Long propertyId = 1L;
-		List<Booking> lstBlockings = new ArrayList<>();
-		Mockito.when(bookingRepository.findBlocksFromPropertyBetweenDates(propertyId, startDate, endDate))
-				.thenReturn(lstBlockings);
+		Mockito.when(bookingRepository.existsBlockFromPropertyBetweenDates(propertyId, startDate, endDate, bookingId))
+				.thenReturn(false);
 		assertDoesNotThrow(
 				() -> validatorService.validateBookingPersistence(bookingId, startDate, endDate, propertyId));
-		verify(bookingRepository, times(1)).findBlocksFromPropertyBetweenDates(propertyId, startDate, endDate);
+		verify(bookingRepository, times(1)).existsBlockFromPropertyBetweenDates(propertyId, startDate, endDate,
+				bookingId);
 	}
 
 	@Test
@@ -77,13 +91,13 @@ class BookingValidatorServiceTest {
 		LocalDate startDate = LocalDate.now().plusDays(1);
 		LocalDate endDate = LocalDate.now().plusDays(2);
 		Long propertyId = 1L;
-		List<Booking> lstBlockings = List.of(Booking.builder().id(2L).build());
-		Mockito.when(bookingRepository.findBlocksFromPropertyBetweenDates(propertyId, startDate, endDate))
-				.thenReturn(lstBlockings);
+		Mockito.when(bookingRepository.existsBlockFromPropertyBetweenDates(propertyId, startDate, endDate, bookingId))
+				.thenReturn(true);
 		BusinessException exception = assertThrows(BusinessException.class,
 				() -> validatorService.validateBookingPersistence(bookingId, startDate, endDate, propertyId));
 		assertEquals(BookingValidatorService.MSG_VALIDATE_BLOCKS_FROM_PROPERTY, exception.getMessage());
-		verify(bookingRepository, times(1)).findBlocksFromPropertyBetweenDates(propertyId, startDate, endDate);
+		verify(bookingRepository, times(1)).existsBlockFromPropertyBetweenDates(propertyId, startDate, endDate,
+				bookingId);
 	}
 
 	@Test
@@ -93,13 +107,66 @@ class BookingValidatorServiceTest {
 		LocalDate startDate = LocalDate.now().plusDays(2);
 		LocalDate endDate = LocalDate.now().plusDays(1);
 		Long propertyId = 1L;
-		List<Booking> lstBlockings = List.of(Booking.builder().id(1L).build());
-		Mockito.when(bookingRepository.findBlocksFromPropertyBetweenDates(propertyId, startDate, endDate))
-				.thenReturn(lstBlockings);
 		BusinessException exception = assertThrows(BusinessException.class,
 				() -> validatorService.validateBookingPersistence(bookingId, startDate, endDate, propertyId));
 		assertEquals(BookingValidatorService.MSG_VALIDATE_BOOKING_DATES, exception.getMessage());
-		verify(bookingRepository, times(1)).findBlocksFromPropertyBetweenDates(propertyId, startDate, endDate);
+		// the in-memory rule fails first, the database is never queried
+		verify(bookingRepository, never()).existsBlockFromPropertyBetweenDates(anyLong(), any(LocalDate.class),
+				any(LocalDate.class), any());
+		assertEquals(1, meterRegistry.get(ValidationPipeline.METRIC_RULE).tag("pipeline", "booking")
+				.tag("rule", "dates").timer().count());
+		assertEquals(0, meterRegistry.get(ValidationPipeline.METRIC_RULE).tag("pipeline", "booking")
+				.tag("rule", "overlap").timer().count());
+	}
+
+	@Test
+	@DisplayName("Validates a booking, batch item or block starting and ending on the same day - Not Valid")
+	void validateDatesWithoutNightsTest() {
+		LocalDate date = LocalDate.now().plusDays(1);
+		User manager = User.builder().id(1L).build();
+		Property property = Property.builder().id(1L).manager(manager).owner(manager).build();
+		CreateBookingDTO bookingDTO = CreateBookingDTO.builder().propertyId(1L).startDate(date).endDate(date).build();
+		BusinessException exception = assertThrows(BusinessException.class,
+				() -> validatorService.validateBookingPersistence(null, date, date, 1L));
+		assertEquals(BookingValidatorService.MSG_VALIDATE_BOOKING_DATES, exception.getMessage());
+		exception = assertThrows(BusinessException.class,
+				() -> validatorService.validateBatchAvailability(new BatchAvailability(), bookingDTO));
+		assertEquals(BookingValidatorService.MSG_VALIDATE_BOOKING_DATES, exception.getMessage());
+		exception = assertThrows(BusinessException.class,
+				() -> validatorService.validateBlock(manager, List.of(property), date, date, null));
+		assertEquals(BookingValidatorService.MSG_VALIDATE_BOOKING_DATES, exception.getMessage());
+		verify(bookingRepository, never()).existsBlockFromPropertyBetweenDates(anyLong(), any(LocalDate.class),
+				any(LocalDate.class), any());
+		verify(bookingRepository, never()).findIntervalsFromPropertiesBetweenDates(any(), any(), any());
+	}
+
+	@Test
+	@DisplayName("Validates booking persistence using the availability index - Valid")
+	void validateBookingPersistenceWithIndexValidTest() {
+		Long bookingId = 1L;
+		LocalDate startDate = LocalDate.now().plusDays(1);
+		LocalDate endDate = LocalDate.now().plusDays(2);
+		Long propertyId = 1L;
+		Mockito.when(availabilityIndex.isEnabled()).thenReturn(true);
+		Mockito.when(availabilityIndex.hasOverlap(propertyId, startDate, endDate, bookingId)).thenReturn(false);
+		assertDoesNotThrow(
+				() -> validatorService.validateBookingPersistence(bookingId, startDate, endDate, propertyId));
+		verify(bookingRepository, times(0)).existsBlockFromPropertyBetweenDates(anyLong(), any(LocalDate.class),
+				any(LocalDate.class), any());
+	}
+
+	@Test
+	@DisplayName("Validates booking persistence using the availability index - Not Valid: With a block")
+	void validateBookingPersistenceWithIndexNotValidTest() {
+		Long bookingId = 1L;
+		LocalDate startDate = LocalDate.now().plusDays(1);
+		LocalDate endDate = LocalDate.now().plusDays(2);
+		Long propertyId = 1L;
+		Mockito.when(availabilityIndex.isEnabled()).thenReturn(true);
+		Mockito.when(availabilityIndex.hasOverlap(propertyId, startDate, endDate, bookingId)).thenReturn(true);
+		BusinessException exception = assertThrows(BusinessException.class,
+				() -> validatorService.validateBookingPersistence(bookingId, startDate, endDate, propertyId));
+		assertEquals(BookingValidatorService.MSG_VALIDATE_BLOCKS_FROM_PROPERTY, exception.getMessage());
 	}
 
 	@Test
@@ -176,46 +243,71 @@ class BookingValidatorServiceTest {
 	}
 
 	@Test
-	@DisplayName("Validates if the property has active or blocked booking")
-	void validatePropertyHasActiveOrBlockedBookingsTest() {
-		BlockDTO blockDTO = BlockDTO.builder().startDate(LocalDate.now().plusDays(1))
-				.endDate(LocalDate.now().plusDays(2)).build();
-		assertDoesNotThrow(() -> validatorService.validatePropertyHasActiveOrBlockedBookings(blockDTO));
+	@DisplayName("Validates a block and returns the canceled bookings it replaces, in one query")
+	void validateBlockTest() {
+		LocalDate startDate = LocalDate.now().plusDays(1);
+		LocalDate endDate = LocalDate.now().plusDays(5);
+		User manager = User.builder().id(1L).build();
+		Property property = Property.builder().id(1L).manager(manager).owner(manager).build();
+		Mockito.when(bookingRepository.findIntervalsFromPropertiesBetweenDates(List.of(1L), startDate, endDate))
+				.thenReturn(List.of(new PropertyBookingInterval(1L, 10L, startDate, endDate, BookingStatus.CANCELED),
+						new PropertyBookingInterval(1L, 11L, startDate, endDate, BookingStatus.BLOCKED)));
+		// the block being updated doesn't conflict with itself
+		assertEquals(List.of(10L),
+				validatorService.validateBlock(manager, List.of(property), startDate, endDate, 11L));
+		BusinessException exception = assertThrows(BusinessException.class,
+				() -> validatorService.validateBlock(manager, List.of(property), startDate, endDate, null));
+		assertEquals(BookingValidatorService.MSG_VALIDATE_PROPERTY_HAS_ACTIVE_OR_BLOCKED_BOOKINGS,
+				exception.getMessage());
+		verify(bookingRepository, times(2)).findIntervalsFromPropertiesBetweenDates(List.of(1L), startDate, endDate);
 	}
 
 	@Test
-	@DisplayName("Validates if the property has active or blocked booking- Invalid")
-	void validatePropertyHasActiveOrBlockedBookingsInvalidTest() {
-		List<Booking> lstBlockings = List.of(Booking.builder().id(2L).build());
-		Mockito.when(bookingRepository.findBookingsFromPropertyBetweenDates(anyLong(), any(LocalDate.class),
-				any(LocalDate.class), anyList())).thenReturn(lstBlockings);
-		BlockDTO blockDTO = BlockDTO.builder().startDate(LocalDate.now().plusDays(1)).propertyId(1L)
-				.endDate(LocalDate.now().plusDays(2)).build();
+	@DisplayName("Validates a block of many properties, naming the ones with active bookings or blocks")
+	void validateBlockManyPropertiesInvalidTest() {
+		LocalDate startDate = LocalDate.now().plusDays(1);
+		LocalDate endDate = LocalDate.now().plusDays(2);
+		User manager = User.builder().id(1L).build();
+		List<Property> properties = List.of(Property.builder().id(1L).manager(manager).owner(manager).build(),
+				Property.builder().id(2L).manager(manager).owner(manager).build(),
+				Property.builder().id(3L).manager(manager).owner(manager).build());
+		Mockito.when(bookingRepository.findIntervalsFromPropertiesBetweenDates(List.of(1L, 2L, 3L), startDate, endDate))
+				.thenReturn(List.of(new PropertyBookingInterval(3L, 10L, startDate, endDate, BookingStatus.ACTIVE),
+						new PropertyBookingInterval(2L, 11L, startDate, endDate, BookingStatus.BLOCKED),
+						new PropertyBookingInterval(1L, 12L, startDate, endDate, BookingStatus.CANCELED)));
 		BusinessException exception = assertThrows(BusinessException.class,
-				() -> validatorService.validatePropertyHasActiveOrBlockedBookings(blockDTO));
-		assertEquals(BookingValidatorService.MSG_VALIDATE_PROPERTY_HAS_ACTIVE_OR_BLOCKED_BOOKINGS,
-				exception.getMessage());
+				() -> validatorService.validateBlock(manager, properties, startDate, endDate, null));
+		assertEquals(String.format(BookingValidatorService.MSG_VALIDATE_PROPERTIES_HAVE_ACTIVE_OR_BLOCKED_BOOKINGS,
+				List.of(2L, 3L)), exception.getMessage());
 	}
 
 	@Test
-	@DisplayName("Validates if the property has canceled booking")
-	void validatePropertyHasCanceledBookingsTest() {
-		BlockDTO blockDTO = BlockDTO.builder().startDate(LocalDate.now().plusDays(1)).propertyId(1L)
-				.endDate(LocalDate.now().plusDays(2)).build();
-		assertDoesNotThrow(() -> validatorService.verifyPropertyHasCanceledBookings(blockDTO));
-		verify(bookingRepository, times(0)).deleteAll(anyList());
+	@DisplayName("Validates a block with invalid dates or without permission before querying the database")
+	void validateBlockInMemoryRulesFirstTest() {
+		User manager = User.builder().id(1L).build();
+		User other = User.builder().id(2L).build();
+		Property property = Property.builder().id(1L).manager(manager).owner(manager).build();
+		LocalDate startDate = LocalDate.now().plusDays(1);
+		BusinessException exception = assertThrows(BusinessException.class, () -> validatorService
+				.validateBlock(manager, List.of(property), startDate, startDate.minusDays(1), null));
+		assertEquals(BookingValidatorService.MSG_VALIDATE_BOOKING_DATES, exception.getMessage());
+		exception = assertThrows(BusinessException.class, () -> validatorService.validateBlock(other,
+				List.of(property), startDate, startDate.plusDays(1), null));
+		assertEquals(HttpStatus.FORBIDDEN, exception.getHttpStatus());
+		verify(bookingRepository, never()).findIntervalsFromPropertiesBetweenDates(any(), any(), any());
 	}
 
 	@Test
-	@DisplayName("Validates if the property has canceled booking")
-	void validatePropertyHasCanceledBookingsInvalidTest() {
-		BlockDTO blockDTO = BlockDTO.builder().startDate(LocalDate.now().plusDays(1)).propertyId(1L)
-				.endDate(LocalDate.now().plusDays(2)).build();
-		List<Booking> lstBlockings = List.of(Booking.builder().id(2L).build());
-		Mockito.when(bookingRepository.findBookingsFromPropertyBetweenDates(anyLong(), any(LocalDate.class),
-				any(LocalDate.class), anyList())).thenReturn(lstBlockings);
-		assertDoesNotThrow(() -> validatorService.verifyPropertyHasCanceledBookings(blockDTO));
-		verify(bookingRepository, times(1)).deleteAll(lstBlockings);
+	@DisplayName("Validates the user can block every property informed")
+	void validateUserHasPermissionToBlockPropertiesInvalidTest() {
+		User manager = User.builder().id(1L).build();
+		User other = User.builder().id(2L).build();
+		List<Property> properties = List.of(Property.builder().manager(manager).owner(other).build(),
+				Property.builder().manager(other).owner(other).build());
+		BusinessException exception = assertThrows(BusinessException.class,
+				() -> validatorService.validateUserHasPermissionToBlock(manager, properties));
+		assertEquals(BookingValidatorService.MSG_VALIDATE_USER_HAS_PERMISSION_TO_BLOCK, exception.getMessage());
+		assertDoesNotThrow(() -> validatorService.validateUserHasPermissionToBlock(manager, properties.subList(0, 1)));
 	}
 
 	@Test
@@ -274,4 +366,28 @@ class BookingValidatorServiceTest {
 		assertEquals(BookingValidatorService.MSG_VALIDATE_BOOKING_IS_BLOCKED, exception.getMessage());
 	}
 
+
+	@Test
+	@DisplayName("Validates a batch against the stored bookings and the earlier items of the batch")
+	void validateBatchAvailabilityTest() {
+		Long propertyId = 1L;
+		CreateBookingDTO first = CreateBookingDTO.builder().propertyId(propertyId)
+				.startDate(LocalDate.of(2099, 1, 10)).endDate(LocalDate.of(2099, 1, 12)).build();
+		CreateBookingDTO overlapsStored = CreateBookingDTO.builder().propertyId(propertyId)
+				.startDate(LocalDate.of(2099, 1, 1)).endDate(LocalDate.of(2099, 1, 3)).build();
+		CreateBookingDTO overlapsFirst = CreateBookingDTO.builder().propertyId(propertyId)
+				.startDate(LocalDate.of(2099, 1, 11)).endDate(LocalDate.of(2099, 1, 13)).build();
+		Mockito.when(bookingRepository.findBlockIntervalsFromPropertyBetweenDates(propertyId,
+				LocalDate.of(2099, 1, 1), LocalDate.of(2099, 1, 13)))
+				.thenReturn(List.of(new BookingInterval(5L, LocalDate.of(2099, 1, 2), LocalDate.of(2099, 1, 4),
+						BookingStatus.ACTIVE)));
+		BatchAvailability availability = validatorService
+				.loadBatchAvailability(List.of(first, overlapsStored, overlapsFirst));
+		assertDoesNotThrow(() -> validatorService.validateBatchAvailability(availability, first));
+		availability.reserve(propertyId, first.startDate(), first.endDate());
+		assertThrows(BusinessException.class,
+				() -> validatorService.validateBatchAvailability(availability, overlapsStored));
+		assertThrows(BusinessException.class,
+				() -> validatorService.validateBatchAvailability(availability, overlapsFirst));
+	}
 }